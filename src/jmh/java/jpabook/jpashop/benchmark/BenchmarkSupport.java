@@ -0,0 +1,170 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.JpaShopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderSummary;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * 벤치마크 공통 (임베디드 H2 로 애플리케이션 컨텍스트를 띄우고 데이터를 채움)
+ * 데이터는 JPA 로 chunk 단위 persist --> flush --> clear (시퀀스 / 배치 insert 설정이 그대로 적용됨)
+ */
+public final class BenchmarkSupport {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    private BenchmarkSupport() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        return start(WebApplicationType.NONE, extraArgs);
+    }
+
+    // 내장 Tomcat 까지 띄움 (부하 테스트용, 포트는 server.port 로 지정)
+    public static ConfigurableApplicationContext startWeb(String... extraArgs) {
+        return start(WebApplicationType.SERVLET, extraArgs);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraArgs) {
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:mem:jmh-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.devtools.restart.enabled=false",
+                "--jpashop.sql.trace.sample-rate=0",
+                "--logging.level.root=warn",
+                "--logging.level.sql=warn",
+        };
+        String[] allArgs = new String[args.length + extraArgs.length];
+        System.arraycopy(args, 0, allArgs, 0, args.length);
+        System.arraycopy(extraArgs, 0, allArgs, args.length, extraArgs.length);
+        return new SpringApplicationBuilder(JpaShopApplication.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .run(allArgs);
+    }
+
+    // 회원 이름은 "member-{번호}" (uk_member_name 때문에 유일해야 함)
+    public static void seedMembers(ConfigurableApplicationContext context, int count) {
+        seedMembers(context, count, i -> "member-" + i);
+    }
+
+    public static void seedMembers(ConfigurableApplicationContext context, int count, IntFunction<String> nameOf) {
+        inChunks(context, count, (em, i) -> {
+            Member member = new Member();
+            member.setName(nameOf.apply(i));
+            member.setAddress(new Address("city-" + (i % 100), "street", "12345"));
+            em.persist(member);
+        });
+    }
+
+    // 재고는 벤치마크 도중 바닥나지 않도록 넉넉하게
+    public static void seedItems(ConfigurableApplicationContext context, int count) {
+        inChunks(context, count, (em, i) -> {
+            Book book = new Book();
+            book.setName("book-" + i);
+            book.setPrice(1000 + (i % 50) * 100);
+            book.setStockQuantity(Integer.MAX_VALUE / 2);
+            book.setAuthor("author-" + (i % 10));
+            em.persist(book);
+        });
+    }
+
+    // 책 / 앨범 / 영화를 번갈아 가며, 하위 타입 컬럼까지 모두 채움 (SINGLE_TABLE 행 폭 비교용)
+    public static void seedCatalog(ConfigurableApplicationContext context, int count) {
+        inChunks(context, count, (em, i) -> {
+            Item item;
+            if (i % 3 == 0) {
+                Book book = new Book();
+                book.setAuthor("author-" + (i % 1000) + " " + "x".repeat(40));
+                book.setIsbn("978-89-" + String.format("%07d", i));
+                item = book;
+            } else if (i % 3 == 1) {
+                Album album = new Album();
+                album.setArtist("artist-" + (i % 1000) + " " + "x".repeat(40));
+                album.setEtc("etc-" + "x".repeat(80));
+                item = album;
+            } else {
+                Movie movie = new Movie();
+                movie.setDirector("director-" + (i % 1000) + " " + "x".repeat(40));
+                movie.setActor("actor-" + (i % 1000) + " " + "x".repeat(40));
+                item = movie;
+            }
+            item.setName("item-" + i);
+            item.setPrice(1000 + (i % 50) * 100);
+            item.setStockQuantity(100);
+            em.persist(item);
+        });
+    }
+
+    // 회원 / 상품을 순서대로 돌려가며 주문 1건당 주문상품 2개
+    public static void seedOrders(ConfigurableApplicationContext context, int count) {
+        long[] memberIds = ids(context, "select m.id from Member m order by m.id");
+        long[] itemIds = ids(context, "select i.id from Item i order by i.id");
+        inChunks(context, count, (em, i) -> {
+            Member member = em.find(Member.class, memberIds[i % memberIds.length]);
+            Item first = em.find(Item.class, itemIds[i % itemIds.length]);
+            Item second = em.find(Item.class, itemIds[(i + 1) % itemIds.length]);
+
+            Delivery delivery = new Delivery();
+            delivery.setAddress(member.getAddress());
+            delivery.setStatus(DeliveryStatus.READY);
+            Order order = Order.createOrder(member, delivery,
+                    OrderItem.createOrderItem(first, first.getPrice(), 1 + i % 3),
+                    OrderItem.createOrderItem(second, second.getPrice(), 1));
+            em.persist(order);
+            em.persist(OrderSummary.of(order));
+        });
+    }
+
+    public static long[] ids(ConfigurableApplicationContext context, String jpql) {
+        EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<Long> ids = em.createQuery(jpql, Long.class).getResultList();
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void inChunks(ConfigurableApplicationContext context, int count, Seeder seeder) {
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+        for (int start = 0; start < count; start += SEED_CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(count, start + SEED_CHUNK_SIZE);
+            transactionTemplate.executeWithoutResult(status -> {
+                EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+                for (int i = from; i < to; i++)
+                    seeder.seed(em, i);
+                em.flush();
+                em.clear();
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Seeder {
+        void seed(EntityManager em, int index);
+    }
+
+}
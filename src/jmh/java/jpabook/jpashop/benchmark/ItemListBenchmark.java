@@ -0,0 +1,123 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemListSearch;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.ItemSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 목록 한 페이지 : SINGLE_TABLE 엔티티 조회 vs 공통 컬럼 DTO 조회 (임의의 커서에서 키셋 페이징)
+ * 엔티티 조회는 12 컬럼 (하위 타입 컬럼 전부) + 엔티티 / 스냅샷 생성, DTO 조회는 5 컬럼 (id, name, price, stock_quantity, dtype)
+ * 두 조회의 행 폭 (컬럼 수 / 평균 바이트) 은 데이터를 채운 뒤 한번 출력
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ItemListBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int items;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private static final String SUMMARY_COLUMNS = "item_id, name, price, stock_quantity, dtype";
+
+    private static final int ROW_WIDTH_SAMPLE = 1000;
+
+    ConfigurableApplicationContext context;
+
+    EntityManagerFactory emf;
+
+    ItemRepository itemRepository;
+
+    TransactionTemplate readOnly;
+
+    long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seedCatalog(context, items);
+        emf = context.getBean(EntityManagerFactory.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        readOnly.setReadOnly(true);
+        maxId = BenchmarkSupport.ids(context, "select max(i.id) from Item i")[0];
+        printRowWidth("entityPage", "*"); // SINGLE_TABLE 엔티티는 item 테이블의 모든 컬럼을 읽음
+        printRowWidth("summaryPage", SUMMARY_COLUMNS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 컬럼 수 + 앞쪽 행들의 평균 바이트 (문자열은 UTF-8 길이, 숫자는 타입 크기, null 은 0)
+    void printRowWidth(String benchmark, String columns) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.query("select " + columns + " from item order by item_id limit " + ROW_WIDTH_SAMPLE, (ResultSet rs) -> {
+            int columnCount = rs.getMetaData().getColumnCount();
+            long rows = 0;
+            long bytes = 0;
+            while (rs.next()) {
+                rows++;
+                for (int i = 1; i <= columnCount; i++)
+                    bytes += width(rs.getObject(i));
+            }
+            System.out.printf("%s row width: %d columns, %.1f bytes per row (first %d rows)%n",
+                    benchmark, columnCount, rows == 0 ? 0.0 : (double) bytes / rows, rows);
+            return null;
+        });
+    }
+
+    static int width(Object value) {
+        if (value == null)
+            return 0;
+        if (value instanceof String string)
+            return string.getBytes(StandardCharsets.UTF_8).length;
+        if (value instanceof Long)
+            return Long.BYTES;
+        if (value instanceof Integer)
+            return Integer.BYTES;
+        return value.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    long randomCursor() {
+        return ThreadLocalRandom.current().nextLong(maxId);
+    }
+
+    @Benchmark
+    public List<Item> entityPage() {
+        long cursor = randomCursor();
+        return readOnly.execute(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            return em.createQuery("select i from Item i where i.id > :cursor order by i.id", Item.class)
+                    .setParameter("cursor", cursor)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+        });
+    }
+
+    @Benchmark
+    public List<ItemSummary> summaryPage() {
+        ItemListSearch itemListSearch = new ItemListSearch();
+        itemListSearch.setAfter(randomCursor());
+        itemListSearch.setSize(pageSize);
+        return readOnly.execute(status -> itemRepository.findSummaries(itemListSearch).getContent());
+    }
+
+}
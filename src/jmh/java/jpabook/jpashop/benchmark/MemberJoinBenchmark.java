@@ -0,0 +1,48 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.service.MemberService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원가입 (이름 중복 검사 + insert) 지연시간, 기존 회원 수에 따라 비교
+ * 중복 검사가 uk_member_name 인덱스를 타면 기존 회원 수와 상관없이 거의 일정해야 함.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MemberJoinBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int existingMembers;
+
+    ConfigurableApplicationContext context;
+
+    MemberService memberService;
+
+    final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seedMembers(context, existingMembers);
+        memberService = context.getBean(MemberService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long join() {
+        Member member = new Member();
+        member.setName("joined-" + sequence.incrementAndGet());
+        return memberService.join(member);
+    }
+
+}
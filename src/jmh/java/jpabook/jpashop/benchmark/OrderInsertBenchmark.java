@@ -0,0 +1,112 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.PooledSequenceGenerator;
+import jpabook.jpashop.domain.item.Item;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 100,000건 insert 처리량 (주문 1건 = 주문 + 배송 + 주문상품 2개), id 생성 방식 x jdbc batch 크기
+ * 1. sequence  : allocation size 1 --> insert 마다 시퀀스 호출
+ * 2. pooled-lo : 매핑의 allocation size (주문 / 배송 50, 주문상품 100) --> 블록마다 시퀀스 한번
+ * 결과(ops/s)는 초당 insert 한 주문 수, batchSize 1 은 batch 를 쓰지 않는 경우
+ * insert 외의 SQL 이 섞이지 않도록 재고는 건드리지 않고 (createReservedOrderItem), 회원은 chunk 마다 한명만 조회
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class OrderInsertBenchmark {
+
+    static final int ORDERS = 100_000;
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final List<String> SEQUENCES = List.of("orders_seq", "delivery_seq", "order_item_seq");
+
+    @Param({"sequence", "pooled-lo"})
+    public String idGenerator;
+
+    @Param({"1", "50", "100"})
+    public int batchSize;
+
+    ConfigurableApplicationContext context;
+
+    TransactionTemplate transactionTemplate;
+
+    EntityManagerFactory emf;
+
+    long[] memberIds;
+
+    long[] itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        if (idGenerator.equals("sequence"))
+            SEQUENCES.forEach(sequence -> args.add("--spring.jpa.properties." + PooledSequenceGenerator.ALLOCATION_SIZE_PREFIX + sequence + "=1"));
+        context = BenchmarkSupport.start(args.toArray(String[]::new));
+        BenchmarkSupport.seedMembers(context, 100);
+        BenchmarkSupport.seedItems(context, 100);
+        memberIds = BenchmarkSupport.ids(context, "select m.id from Member m");
+        itemIds = BenchmarkSupport.ids(context, "select i.id from Item i");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        emf = context.getBean(EntityManagerFactory.class);
+    }
+
+    // 반복마다 빈 테이블에 insert
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("delete from order_item");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from delivery");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public int insertOrders() {
+        for (int start = 0; start < ORDERS; start += CHUNK_SIZE) {
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+                Member member = em.getReference(Member.class, memberIds[(from / CHUNK_SIZE) % memberIds.length]);
+                for (int i = from; i < from + CHUNK_SIZE; i++) {
+                    Item first = em.getReference(Item.class, itemIds[i % itemIds.length]);
+                    Item second = em.getReference(Item.class, itemIds[(i + 1) % itemIds.length]);
+
+                    Delivery delivery = new Delivery();
+                    delivery.setAddress(new Address("city", "street", "12345"));
+                    delivery.setStatus(DeliveryStatus.READY);
+                    em.persist(Order.createOrder(member, delivery,
+                            OrderItem.createReservedOrderItem(first, 1000, 1 + i % 3),
+                            OrderItem.createReservedOrderItem(second, 2000, 1)));
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+        return ORDERS;
+    }
+
+}
@@ -0,0 +1,83 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.repository.NameMatch;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryDto;
+import jpabook.jpashop.service.MemberNameTrigramService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 목록(/orders) 회원 이름 검색 : 앞부분 vs 포함, trigram 인덱스 유무
+ * 회원 이름은 "member-{번호}" 처럼 모두 같은 trigram 을 공유하면 trigram 이 후보를 좁히지 못하기 때문에
+ * 무작위 영문 이름(고정 seed) 을 사용하고, 한 회원 이름의 일부로 검색함.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OrderNameSearchBenchmark {
+
+    @Param({"100000"})
+    public int members;
+
+    @Param({"100000", "1000000"})
+    public int orders;
+
+    @Param({"PREFIX", "CONTAINS"})
+    public NameMatch nameMatch;
+
+    @Param({"false", "true"})
+    public boolean trigram;
+
+    ConfigurableApplicationContext context;
+
+    OrderRepository orderRepository;
+
+    TransactionTemplate readOnly;
+
+    OrderSearch orderSearch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("--jpashop.order.search.trigram.enabled=" + trigram);
+        BenchmarkSupport.seedMembers(context, members, OrderNameSearchBenchmark::randomName);
+        BenchmarkSupport.seedItems(context, 100);
+        BenchmarkSupport.seedOrders(context, orders);
+        if (trigram)
+            context.getBean(MemberNameTrigramService.class).rebuild();
+        orderRepository = context.getBean(OrderRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        orderSearch = new OrderSearch();
+        String name = randomName(members / 2);
+        orderSearch.setMemberName(nameMatch == NameMatch.PREFIX ? name.substring(0, 5) : name.substring(3, 8));
+        orderSearch.setNameMatch(nameMatch);
+    }
+
+    // 번호마다 항상 같은 10자리 영문 이름 (뒤에 번호를 붙여 유일하게 만듦)
+    static String randomName(int index) {
+        SplittableRandom random = new SplittableRandom(index);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 10; i++)
+            name.append((char) ('a' + random.nextInt(26)));
+        return name.append(index).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderSummaryDto> findOrderSummaries() {
+        return readOnly.execute(status -> orderRepository.findOrderSummaries(orderSearch).getContent());
+    }
+
+}
@@ -0,0 +1,90 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 검색 동적 쿼리 : JPQL 문자열 조립 vs JPA Criteria vs 미리 등록한 named query
+ * 호출마다 검색 조건 조합(8가지) 을 바꿔가며 조회해서 쿼리 파싱 / 컴파일 비용 차이를 봄.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class OrderSearchBenchmark {
+
+    @Param({"1000"})
+    public int members;
+
+    @Param({"10000", "100000"})
+    public int orders;
+
+    ConfigurableApplicationContext context;
+
+    OrderRepository orderRepository;
+
+    TransactionTemplate readOnly;
+
+    OrderSearch[] searches;
+
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seedMembers(context, members);
+        BenchmarkSupport.seedItems(context, 100);
+        BenchmarkSupport.seedOrders(context, orders);
+        orderRepository = context.getBean(OrderRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        Long cursor = BenchmarkSupport.ids(context, "select max(o.id) from Order o")[0] / 2;
+        searches = new OrderSearch[8];
+        for (int shape = 0; shape < searches.length; shape++) {
+            OrderSearch orderSearch = new OrderSearch();
+            if ((shape & 1) != 0)
+                orderSearch.setOrderStatus(OrderStatus.ORDER);
+            if ((shape & 2) != 0)
+                orderSearch.setMemberName("member-1");
+            if ((shape & 4) != 0)
+                orderSearch.setAfter(cursor);
+            searches[shape] = orderSearch;
+        }
+    }
+
+    OrderSearch nextSearch() {
+        return searches[next++ & (searches.length - 1)];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Order> findAllByString() {
+        OrderSearch orderSearch = nextSearch();
+        return readOnly.execute(status -> orderRepository.findAllByString(orderSearch));
+    }
+
+    @Benchmark
+    public List<Order> findAllByCriteria() {
+        OrderSearch orderSearch = nextSearch();
+        return readOnly.execute(status -> orderRepository.findAllByCriteria(orderSearch));
+    }
+
+    @Benchmark
+    public List<Order> findAllByNamedQuery() {
+        OrderSearch orderSearch = nextSearch();
+        return readOnly.execute(status -> orderRepository.findAllByNamedQuery(orderSearch));
+    }
+
+}
@@ -0,0 +1,78 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 / 주문취소 (OrderService 트랜잭션 + 낙관적 락 재시도 포함)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    @Param({"1000"})
+    public int members;
+
+    @Param({"100"})
+    public int items;
+
+    @Param({"10000", "100000"})
+    public int orders;
+
+    ConfigurableApplicationContext context;
+
+    OrderService orderService;
+
+    long[] memberIds;
+
+    long[] itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seedMembers(context, members);
+        BenchmarkSupport.seedItems(context, items);
+        BenchmarkSupport.seedOrders(context, orders);
+        memberIds = BenchmarkSupport.ids(context, "select m.id from Member m");
+        itemIds = BenchmarkSupport.ids(context, "select i.id from Item i");
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long order() {
+        return placeOrder();
+    }
+
+    @Benchmark
+    public void cancelOrder(CancelTarget target) {
+        orderService.cancelOrder(target.orderId);
+    }
+
+    Long placeOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return orderService.order(memberIds[random.nextInt(memberIds.length)], itemIds[random.nextInt(itemIds.length)], 1);
+    }
+
+    // 취소할 주문은 측정 밖에서 매번 새로 만듦 (Level.Invocation 은 수 ms 단위 연산이라 허용)
+    @State(Scope.Thread)
+    public static class CancelTarget {
+
+        Long orderId;
+
+        @Setup(Level.Invocation)
+        public void createOrder(OrderServiceBenchmark benchmark) {
+            orderId = benchmark.placeOrder();
+        }
+    }
+
+}
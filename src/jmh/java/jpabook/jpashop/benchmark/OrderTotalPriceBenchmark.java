@@ -0,0 +1,45 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order.getTotalPrice (DB 없이 도메인만, 주문상품을 추가할 때 계산해 둔 값)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderTotalPriceBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int orderItems;
+
+    Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Member member = new Member();
+        member.setAddress(new Address("city", "street", "12345"));
+        OrderItem[] items = new OrderItem[orderItems];
+        for (int i = 0; i < orderItems; i++) {
+            Book book = new Book();
+            book.setPrice(1000 + i);
+            book.setStockQuantity(Integer.MAX_VALUE);
+            items[i] = OrderItem.createOrderItem(book, book.getPrice(), 1 + i % 3);
+        }
+        order = Order.createOrder(member, new Delivery(), items);
+    }
+
+    @Benchmark
+    public int getTotalPrice() {
+        return order.getTotalPrice();
+    }
+
+}
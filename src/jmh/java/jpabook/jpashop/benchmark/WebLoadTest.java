@@ -0,0 +1,169 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.config.DbConcurrencyLimitFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 웹 부하 테스트 (Tomcat 스레드 풀 vs 가상 스레드 + DB 동시 처리 제한)
+ * 모드마다 애플리케이션을 새로 띄워서 GET /orders, POST /order 를 동시 사용자 수만큼 duration 동안 호출하고 req/s, p50 / p99 를 출력.
+ * JMH 는 한 JVM 안의 메서드 호출을 재는 도구라 HTTP 왕복은 별도 main 으로 측정.
+ * 가상 스레드 모드는 워밍업 요청이 모두 가상 스레드에서 처리됐는지 확인하고, 아니면 측정하지 않음 (플랫폼 스레드끼리 비교하지 않도록)
+ *
+ * ./gradlew loadTest                                              : 기본값 (clients=200 seconds=20)
+ * ./gradlew loadTest -PjavaToolchain=21                           : Java 21 로 실행 (가상 스레드 모드는 Java 21 이상에서만 측정)
+ * ./gradlew loadTest -PloadTestArgs="clients=500 seconds=30 modes=virtual"
+ */
+public class WebLoadTest {
+
+    private static final int MEMBERS = 1000;
+
+    private static final int ITEMS = 100;
+
+    private static final int ORDERS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        // main 스레드에서 실행하면 devtools 가 애플리케이션을 재시작하면서 main 을 한 번 더 실행함
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>(Map.of("clients", "200", "seconds", "20", "modes", "platform,virtual"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        int clients = Integer.parseInt(options.get("clients"));
+        int seconds = Integer.parseInt(options.get("seconds"));
+
+        System.out.printf("java %d, clients=%d, duration=%ds%n", Runtime.version().feature(), clients, seconds);
+        System.out.printf("%-10s %-12s %10s %10s %10s %10s%n", "mode", "scenario", "req/s", "p50(ms)", "p99(ms)", "errors");
+        for (String mode : options.get("modes").split(",")) {
+            ConfigurableApplicationContext context = BenchmarkSupport.startWeb(
+                    "--server.port=0",
+                    "--server.tomcat.threads.max=200",
+                    "--logging.level.org.hibernate.engine.jdbc.batch.internal.BatchingBatch=off", // 재고 낙관적 락 충돌은 재시도로 처리됨
+                    "--logging.level.org.thymeleaf=error",  // 렌더링마다 남는 fragment 표현식 경고가 측정을 왜곡함
+                    "--jpashop.web.virtual-threads.enabled=" + mode.equals("virtual"));
+            try {
+                BenchmarkSupport.seedMembers(context, MEMBERS);
+                BenchmarkSupport.seedItems(context, ITEMS);
+                BenchmarkSupport.seedOrders(context, ORDERS);
+                long[] memberIds = BenchmarkSupport.ids(context, "select m.id from Member m");
+                long[] itemIds = BenchmarkSupport.ids(context, "select i.id from Item i");
+                String baseUrl = "http://localhost:" + context.getBean(Environment.class).getProperty("local.server.port");
+
+                Scenario list = random -> HttpRequest.newBuilder(URI.create(baseUrl + "/orders")).GET().build();
+                Scenario order = random -> HttpRequest.newBuilder(URI.create(baseUrl + "/order"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString("memberId=" + memberIds[random.nextInt(memberIds.length)]
+                                + "&itemId=" + itemIds[random.nextInt(itemIds.length)] + "&count=1"))
+                        .build();
+
+                run(list, clients, 3).print(mode, "warmup");
+                if (mode.equals("virtual") && !runsOnVirtualThreads(context)) {
+                    System.out.printf("%-10s skipped: requests ran on platform threads (java %d, use -PjavaToolchain=21)%n",
+                            mode, Runtime.version().feature());
+                    continue;
+                }
+                run(list, clients, seconds).print(mode, "GET /orders");
+                run(order, clients, seconds).print(mode, "POST /order");
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static boolean runsOnVirtualThreads(ConfigurableApplicationContext context) {
+        Map<String, Long> snapshot = context.getBean(DbConcurrencyLimitFilter.class).snapshot();
+        return snapshot.get("virtualThreadRequests") > 0 && snapshot.get("platformThreadRequests") == 0;
+    }
+
+    private static Result run(Scenario scenario, int clients, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                Recorder recorder = new Recorder();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(scenario.request(random), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400)
+                            recorder.errors++;
+                    } catch (Exception e) {
+                        recorder.errors++;
+                    }
+                    recorder.record(System.nanoTime() - start);
+                }
+                return recorder;
+            }));
+        }
+        Recorder total = new Recorder();
+        for (Future<Recorder> future : futures)
+            total.merge(future.get());
+        executor.shutdown();
+        return new Result(total, seconds);
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        HttpRequest request(ThreadLocalRandom random);
+    }
+
+    private static class Recorder {
+
+        long[] latencies = new long[1024];
+
+        int count;
+
+        int errors;
+
+        void record(long nanos) {
+            if (count == latencies.length)
+                latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++)
+                record(other.latencies[i]);
+            errors += other.errors;
+        }
+    }
+
+    private record Result(Recorder recorder, int seconds) {
+
+        void print(String mode, String scenario) {
+            long[] sorted = Arrays.copyOf(recorder.latencies, recorder.count);
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %-12s %10.1f %10.1f %10.1f %10d%n", mode, scenario,
+                    (double) recorder.count / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99), recorder.errors);
+        }
+
+        private double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0)
+                return 0;
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+
+}
@@ -2,8 +2,9 @@ package jpabook.jpashop;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+@SpringBootApplication @EnableScheduling
 public class JpaShopApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,76 @@
+package jpabook.jpashop.aop;
+
+import org.hibernate.StaleObjectStateException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 키(엔티티#id 또는 메서드 파라미터) 별 낙관적 락 충돌 / 재시도 / 재시도 초과 횟수
+ */
+@Component
+public class ContentionMetrics {
+
+    private final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    // 예외에서 충돌한 엔티티를 알 수 있으면 그 엔티티로, 아니면 기본 키로 집계
+    public String recordConflict(String defaultKey, OptimisticLockingFailureException e) {
+        String key = keyOf(e);
+        if (key == null)
+            key = defaultKey == null ? "unknown" : defaultKey;
+        counters(key).conflicts.increment();
+        return key;
+    }
+
+    public void recordRetry(String key) {
+        counters(key).retries.increment();
+    }
+
+    public void recordExhausted(String key) {
+        counters(key).exhausted.increment();
+    }
+
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        counters.forEach((key, value) -> {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("conflicts", value.conflicts.sum());
+            values.put("retries", value.retries.sum());
+            values.put("exhausted", value.exhausted.sum());
+            snapshot.put(key, values);
+        });
+        return snapshot;
+    }
+
+    private Counters counters(String key) {
+        return counters.computeIfAbsent(key, k -> new Counters());
+    }
+
+    private String keyOf(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException objectException && objectException.getPersistentClassName() != null)
+            return keyOf(objectException.getPersistentClassName(), objectException.getIdentifier());
+        // JPA 예외로 변환된 경우 원인 예외에서 엔티티 정보를 찾음
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof StaleObjectStateException staleException)
+                return keyOf(staleException.getEntityName(), staleException.getIdentifier());
+        }
+        return null;
+    }
+
+    private String keyOf(String className, Object identifier) {
+        return className.substring(className.lastIndexOf('.') + 1) + "#" + identifier;
+    }
+
+    private static class Counters {
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+
+}
@@ -0,0 +1,62 @@
+package jpabook.jpashop.aop;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @RetryOnOptimisticLock 처리
+ * 트랜잭션 AOP(LOWEST_PRECEDENCE) 보다 먼저 적용되어야 재시도마다 새 트랜잭션이 시작됨.
+ */
+@Aspect @Component @Slf4j @RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect {
+
+    private final ContentionMetrics contentionMetrics;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return joinPoint.proceed(); // 바깥 트랜잭션에 참여하는 경우 재시도해도 같은 트랜잭션이라 의미가 없음.
+
+        long backoff = retry.backoffMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                String key = contentionMetrics.recordConflict(keyOf(joinPoint, retry), e);
+                if (attempt >= retry.maxAttempts()) {
+                    contentionMetrics.recordExhausted(key);
+                    log.warn("optimistic lock retry exhausted. method={}, key={}, attempts={}",
+                            joinPoint.getSignature().toShortString(), key, attempt);
+                    throw e;
+                }
+                contentionMetrics.recordRetry(key);
+                Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff + 1)); // 동시에 재시도하지 않도록 jitter
+                backoff = Math.min(backoff * 2, retry.maxBackoffMillis());
+            }
+        }
+    }
+
+    private String keyOf(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) {
+        if (retry.key().isEmpty())
+            return joinPoint.getSignature().toShortString();
+        String[] parameterNames = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(retry.key()))
+                return retry.key() + "=" + joinPoint.getArgs()[i];
+        }
+        return joinPoint.getSignature().toShortString();
+    }
+
+}
@@ -0,0 +1,27 @@
+package jpabook.jpashop.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌(@Version) 시 트랜잭션을 새로 시작해서 재시도
+ * 트랜잭션 바깥에서 감싸야 하기 때문에 @Transactional 과 같은 메서드에 붙임.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+
+    // 경합 통계를 집계할 파라미터 이름 (예: itemId --> "itemId=1"), 없으면 메서드 단위로 집계
+    String key() default "";
+
+    // 최초 시도 포함 최대 시도 횟수
+    int maxAttempts() default 5;
+
+    // 첫 재시도 대기시간 (재시도마다 2배씩 증가)
+    long backoffMillis() default 10;
+
+    long maxBackoffMillis() default 200;
+
+}
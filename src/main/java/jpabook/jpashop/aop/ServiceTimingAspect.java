@@ -0,0 +1,43 @@
+package jpabook.jpashop.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서비스 메서드 실행 시간 (jpashop.service 타이머, 태그 class / method / exception)
+ * 낙관적 락 재시도, 트랜잭션 커밋까지 포함되도록 가장 바깥에서 측정.
+ */
+@Aspect @Component @RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class ServiceTimingAspect {
+
+    public static final String METRIC_NAME = "jpashop.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(jpabook.jpashop.service..*) && @within(org.springframework.stereotype.Service)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package jpabook.jpashop.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DB 를 사용하는 요청의 동시 처리 수 제한
+ * 가상 스레드는 요청마다 만들어지기 때문에 스레드 수로 제한되지 않음 --> 커넥션 풀 크기만큼만 동시에 처리하고 나머지는 여기서 대기.
+ * (커넥션 풀 대기열에서 connection-timeout 까지 쌓이는 대신, 정해진 시간 안에 못 들어가면 503)
+ * 가상 스레드 모드에서만 등록되니 요청 스레드가 실제로 가상 스레드인지도 세어 둠 (첫 요청에서 로그)
+ * 커넥션을 잡는 경로(paths)만 제한 --> 정적 리소스, 통계, 비동기 주문 접수(/order/async, 대기열에만 넣음), 등록 폼 화면은 그대로 통과
+ */
+@Slf4j
+public class DbConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // DB 를 조회하지 않는 등록 폼 화면 (GET 만, POST 는 저장하니 제한)
+    private static final List<String> FORM_PAGES = List.of("/members/new", "/items/new");
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final int permits;
+
+    private final long timeoutMillis;
+
+    private final List<String> paths;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Semaphore semaphore;
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder virtualThreadRequests = new LongAdder();
+
+    private final LongAdder platformThreadRequests = new LongAdder();
+
+    private final AtomicBoolean threadKindLogged = new AtomicBoolean();
+
+    public DbConcurrencyLimitFilter(int permits, long timeoutMillis, List<String> paths) {
+        if (permits < 1)
+            throw new IllegalArgumentException("동시 처리 수는 1 이상이어야 합니다.");
+        this.permits = permits;
+        this.timeoutMillis = timeoutMillis;
+        this.paths = List.copyOf(paths);
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (HttpMethod.GET.matches(request.getMethod()) && FORM_PAGES.contains(path))
+            return true;
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        recordThreadKind(Thread.currentThread());
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "요청이 많아 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private void recordThreadKind(Thread thread) {
+        boolean virtual = VirtualThreads.isVirtual(thread);
+        if (virtual)
+            virtualThreadRequests.increment();
+        else
+            platformThreadRequests.increment();
+        if (threadKindLogged.compareAndSet(false, true)) {
+            if (virtual)
+                log.info("request threads are virtual ({})", thread);
+            else
+                log.warn("virtual thread mode is on but requests run on platform thread {}", thread.getName());
+        }
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("permits", (long) permits);
+        values.put("available", (long) semaphore.availablePermits());
+        values.put("waiting", (long) semaphore.getQueueLength());
+        values.put("rejected", rejected.sum());
+        values.put("virtualThreadRequests", virtualThreadRequests.sum());
+        values.put("platformThreadRequests", platformThreadRequests.sum());
+        return values;
+    }
+
+}
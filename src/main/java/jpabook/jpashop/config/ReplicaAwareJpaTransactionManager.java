@@ -0,0 +1,45 @@
+package jpabook.jpashop.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 복제본 라우팅을 켠 경우의 트랜잭션 매니저
+ * 읽기 전용 트랜잭션은 복제본에서 읽기 때문에, 쓰기 커밋 후 캐시를 비운 직후에 복제가 덜 된 이전 값으로
+ * 2차 캐시 / 쿼리 캐시를 다시 채우면 다음 쓰기까지 (쓰기 트랜잭션에서도) 이전 값(이전 @Version) 을 읽게 됨
+ * --> 읽기 전용 트랜잭션은 CacheMode.GET (캐시에서 읽기만 하고 넣지 않음), 캐시는 주 DB 에서 읽은 쓰기 트랜잭션만 채움
+ */
+public class ReplicaAwareJpaTransactionManager extends JpaTransactionManager {
+
+    public ReplicaAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        Session session = currentSession();
+        if (definition.isReadOnly() && session != null && session.getCacheMode() == CacheMode.NORMAL)
+            session.setCacheMode(CacheMode.GET);
+    }
+
+    // open-in-view 면 다음 트랜잭션도 같은 세션을 쓰기 때문에 되돌림
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        Session session = currentSession();
+        if (session != null && session.isOpen() && session.getCacheMode() == CacheMode.GET)
+            session.setCacheMode(CacheMode.NORMAL);
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private Session currentSession() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder == null ? null : holder.getEntityManager().unwrap(Session.class);
+    }
+
+}
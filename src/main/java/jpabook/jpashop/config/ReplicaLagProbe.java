@@ -0,0 +1,39 @@
+package jpabook.jpashop.config;
+
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 복제본 지연 시간(ms) 확인
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    long lagMillis(DataSource replica) throws SQLException;
+
+    /**
+     * 복제본에서 지연 시간(ms) 한 값을 돌려주는 SQL 로 확인, 비어 있으면 연결만 확인하고 지연 0
+     * 예) PostgreSQL : select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+     */
+    static ReplicaLagProbe sql(String query) {
+        return replica -> {
+            try (Connection connection = replica.getConnection()) {
+                if (!StringUtils.hasText(query)) {
+                    if (!connection.isValid(1))
+                        throw new SQLException("replica connection is not valid");
+                    return 0;
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(query)) {
+                    return resultSet.next() ? resultSet.getLong(1) : 0;
+                }
+            }
+        };
+    }
+
+}
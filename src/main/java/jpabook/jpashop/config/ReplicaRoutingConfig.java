@@ -0,0 +1,93 @@
+package jpabook.jpashop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션 복제본 라우팅 (jpashop.datasource.routing.enabled=true)
+ * 1. spring.datasource.* 는 주 DB, jpashop.datasource.replica.urls 의 DB 들은 복제본 (풀 설정은 spring.datasource.hikari.* 공유)
+ * 2. Hibernate 는 기본적으로 세션이 끝날 때까지 커넥션을 잡고 있어서 (open-in-view 면 요청 끝까지)
+ *    읽기 트랜잭션에서 잡은 복제본 커넥션으로 다음 쓰기 트랜잭션이 실행될 수 있음 --> 트랜잭션이 끝나면 반납
+ * 3. 읽기 전용 트랜잭션은 2차 캐시 / 쿼리 캐시를 채우지 않음 (ReplicaAwareJpaTransactionManager),
+ *    카테고리 트리 스냅샷처럼 애플리케이션이 들고 있는 캐시는 쓰기 트랜잭션(주 DB) 에서 적재
+ * 4. 자기가 쓴 값을 바로 읽는다는 보장은 없음 : POST /order 후 redirect 된 GET /orders 는 읽기 전용이라
+ *    복제 지연(최대 max-lag-ms) 동안은 방금 한 주문이 목록에 없을 수 있음
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "jpashop.datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                               @Value("${jpashop.datasource.replica.urls:}") List<String> replicaUrls,
+                                               @Value("${jpashop.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                               @Value("${jpashop.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                               @Value("${jpashop.datasource.replica.selection:ROUND_ROBIN}") ReplicaSelection selection,
+                                               @Value("${jpashop.datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${jpashop.datasource.replica.max-lag-ms:1000}") long maxLagMillis,
+                                               @Value("${jpashop.datasource.replica.lag-check-interval-ms:1000}") long lagCheckIntervalMillis) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (!StringUtils.hasText(url))
+                continue;
+            String name = "replica-" + replicas.size();
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            replica.setPoolName(name);
+            replicas.put(name, replica);
+        }
+        log.info("read-only transactions routed to {} replica(s) ({}, max lag {}ms), everything else to the primary",
+                replicas.size(), selection, maxLagMillis);
+        return new ReplicaRoutingDataSource(primary, replicas, selection, ReplicaLagProbe.sql(lagQuery), maxLagMillis, lagCheckIntervalMillis);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new ReplicaAwareJpaTransactionManager(entityManagerFactory);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+}
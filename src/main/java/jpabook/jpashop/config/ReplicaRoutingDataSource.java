@@ -0,0 +1,255 @@
+package jpabook.jpashop.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지(쓰기 트랜잭션 / 트랜잭션 밖)는 주 DB 로 보내는 DataSource
+ * 1. 트랜잭션을 시작할 때는 아직 readOnly 여부가 TransactionSynchronizationManager 에 없어서
+ *    실제 커넥션은 첫 SQL 을 실행할 때 고름 (LazyConnectionDataSourceProxy)
+ * 2. 복제본은 라운드 로빈 / 빌려간 커넥션이 가장 적은 것 중에서 고르고,
+ *    지연이 maxLagMillis 를 넘거나 연결에 실패한 복제본은 다음 확인 때까지 제외 (모두 제외되면 주 DB 로)
+ * 3. lagCheckIntervalMillis 가 0 이하면 주기적으로 확인하지 않고, 읽을 때 쓸 수 있는 복제본이 없으면 다시 확인 (RECHECK_MILLIS 에 한번)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final long RECHECK_MILLIS = 1000;
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final ReplicaSelection selection;
+
+    private final ReplicaLagProbe lagProbe;
+
+    private final long maxLagMillis;
+
+    private final long lagCheckIntervalMillis;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder primaryConnections = new LongAdder();
+
+    private final LongAdder readFallbacks = new LongAdder(); // 쓸 수 있는 복제본이 없어 주 DB 로 보낸 읽기
+
+    private final AtomicLong lastRecheck = new AtomicLong(); // 읽을 때 다시 확인한 시각 (주기적으로 확인하지 않을 때만)
+
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaSelection selection,
+                                    ReplicaLagProbe lagProbe, long maxLagMillis, long lagCheckIntervalMillis) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.selection = selection;
+        this.lagProbe = lagProbe;
+        this.maxLagMillis = maxLagMillis;
+        this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+        setTargetDataSource(new Router());
+    }
+
+    // 기본 autoCommit / 격리 수준은 주 DB 에서 읽음 (트랜잭션 밖이라 주 DB 로 감)
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (lagCheckIntervalMillis > 0 && !replicas.isEmpty()) {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(VirtualThreads.threadFactory("replica-lag-"));
+            lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 복제본마다 지연 확인, 실패하거나 maxLagMillis 를 넘으면 제외
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try {
+                replica.update(lagProbe.lagMillis(replica.dataSource));
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> snapshot = new LinkedHashMap<>();
+        Map<String, Long> primaryValues = new LinkedHashMap<>();
+        primaryValues.put("connections", primaryConnections.sum());
+        primaryValues.put("readFallbacks", readFallbacks.sum());
+        snapshot.put("primary", primaryValues);
+        for (Replica replica : replicas) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("connections", replica.connections.sum());
+            values.put("inUse", (long) replica.inUse.get());
+            values.put("lagMillis", replica.lagMillis);
+            values.put("available", replica.available ? 1L : 0L);
+            snapshot.put(replica.name, values);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null)
+            lagChecker.shutdownNow();
+        closeQuietly(primary);
+        for (Replica replica : replicas)
+            closeQuietly(replica.dataSource);
+    }
+
+    private void closeQuietly(DataSource dataSource) {
+        if (!(dataSource instanceof AutoCloseable closeable))
+            return;
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("could not close {}", dataSource, e);
+        }
+    }
+
+    // 주기적으로 확인하는 중이면 다음 확인을 기다리고, 아니면 제외된 복제본을 다시 확인 (연결이 안 되는 복제본을 읽을 때마다 확인하지 않도록 RECHECK_MILLIS 에 한번)
+    private boolean recheckReplicas() {
+        if (lagChecker != null || replicas.isEmpty())
+            return false;
+        long now = System.currentTimeMillis();
+        long last = lastRecheck.get();
+        if (now - last < RECHECK_MILLIS || !lastRecheck.compareAndSet(last, now))
+            return false;
+        checkReplicas();
+        return true;
+    }
+
+    private Replica select() {
+        List<Replica> available = replicas.stream().filter(replica -> replica.available).toList();
+        if (available.isEmpty())
+            return null;
+        if (selection == ReplicaSelection.LEAST_LOADED)
+            return available.stream().min(Comparator.comparingInt(replica -> replica.inUse.get())).orElseThrow();
+        return available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+    }
+
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+                return primaryConnection();
+            Replica first = select();
+            if (first == null && recheckReplicas())
+                first = select();
+            for (Replica replica = first; replica != null; replica = select()) {
+                try {
+                    return replica.connect();
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+            readFallbacks.increment();
+            return primaryConnection();
+        }
+
+        // 계정을 지정한 연결은 복제본 계정과 맞는지 알 수 없어서 주 DB 로
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Connection connection = primary.getConnection(username, password);
+            primaryConnections.increment();
+            return connection;
+        }
+
+        private Connection primaryConnection() throws SQLException {
+            Connection connection = primary.getConnection();
+            primaryConnections.increment();
+            return connection;
+        }
+
+        // 커넥션 풀 크기 확인 등은 주 DB 기준
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(primary))
+                return (T) primary;
+            return primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(primary) || primary.isWrapperFor(iface);
+        }
+
+    }
+
+    private class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private final AtomicInteger inUse = new AtomicInteger();
+
+        private final LongAdder connections = new LongAdder();
+
+        private volatile long lagMillis;
+
+        private volatile boolean available = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        // 반납할 때 inUse 를 줄이기 위해 close 만 가로챔
+        private Connection connect() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            inUse.incrementAndGet();
+            connections.increment();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true))
+                            inUse.decrementAndGet();
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+
+        private void update(long lagMillis) {
+            this.lagMillis = lagMillis;
+            boolean available = lagMillis <= maxLagMillis;
+            if (available != this.available)
+                log.warn("replica {} is {} (lag {}ms, max {}ms)", name, available ? "back in rotation" : "lagging, reads go elsewhere", lagMillis, maxLagMillis);
+            this.available = available;
+        }
+
+        private void markDown(Exception e) {
+            if (available)
+                log.warn("replica {} is unavailable, reads go elsewhere until it is checked again", name, e);
+            available = false;
+        }
+
+    }
+
+}
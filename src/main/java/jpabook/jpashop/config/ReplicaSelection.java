@@ -0,0 +1,11 @@
+package jpabook.jpashop.config;
+
+/**
+ * 읽기 전용 트랜잭션을 보낼 복제본 선택 방식
+ */
+public enum ReplicaSelection {
+
+    ROUND_ROBIN,    // 돌아가면서
+    LEAST_LOADED    // 지금 빌려간 커넥션이 가장 적은 복제본
+
+}
@@ -0,0 +1,91 @@
+package jpabook.jpashop.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가상 스레드 지원
+ * 빌드는 Java 17 이라 Thread.ofVirtual() 을 직접 호출할 수 없어서 리플렉션으로 찾고,
+ * Java 21 미만에서 실행되면 플랫폼(데몬) 스레드로 대신함.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private static final Method IS_VIRTUAL = isVirtualMethod();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return virtualThreadFactory("probe-") != null;
+    }
+
+    // 작업마다 새 스레드 (가상 스레드는 풀링하지 않음), Java 21 미만이면 캐시 스레드 풀
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = threadFactory(namePrefix);
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+
+    public static ThreadFactory threadFactory(String namePrefix) {
+        ThreadFactory factory = virtualThreadFactory(namePrefix);
+        if (factory != null)
+            return factory;
+        log.info("virtual threads are not available on Java {}, using platform threads for {}", Runtime.version().feature(), namePrefix);
+        return platformThreadFactory(namePrefix);
+    }
+
+    // 가상 스레드인지 (Java 21 미만이면 항상 false), 요청마다 확인하기 때문에 메서드는 한 번만 찾음
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null)
+            return false;
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            log.warn("could not check whether {} is virtual", thread, e);
+            return false;
+        }
+    }
+
+    private static Method isVirtualMethod() {
+        try {
+            return Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // 빌더 구현 클래스(ThreadBuilders$VirtualThreadBuilder)는 public 이 아니라서 public 인 Thread.Builder 인터페이스의 메서드로 호출
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null; // Java 21 미만
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("virtual threads could not be created for {}, using platform threads", namePrefix, e);
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory(String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
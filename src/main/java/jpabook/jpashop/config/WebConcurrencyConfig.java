@@ -0,0 +1,64 @@
+package jpabook.jpashop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 가상 스레드 요청 처리 (jpashop.web.virtual-threads.enabled=true)
+ * 1. Tomcat 요청 처리 스레드 풀 --> 요청마다 가상 스레드 (Java 21 이상에서 실행할 때만, 미만이면 기존 스레드 풀 유지)
+ * 2. 스레드 수로 동시 처리가 제한되지 않으니 DbConcurrencyLimitFilter 로 커넥션 풀 크기만큼만 동시에 처리
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "jpashop.web.virtual-threads.enabled", havingValue = "true")
+public class WebConcurrencyConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    static final String DEFAULT_DB_PATHS = "/members/**,/items/**,/order,/orders/**,/categories/**,/analytics/**";
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        if (!VirtualThreads.isSupported()) {
+            log.warn("jpashop.web.virtual-threads.enabled=true but running on Java {}, keeping the Tomcat thread pool", Runtime.version().feature());
+            return protocolHandler -> {
+            };
+        }
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+    }
+
+    // permits 가 0 이면 Hikari 커넥션 풀 크기, paths 는 커넥션을 잡는 경로 (Ant 패턴)
+    @Bean
+    public DbConcurrencyLimitFilter dbConcurrencyLimitFilter(DataSource dataSource,
+                                                             @Value("${jpashop.web.db-limiter.permits:0}") int permits,
+                                                             @Value("${jpashop.web.db-limiter.timeout-ms:1000}") long timeoutMillis,
+                                                             @Value("${jpashop.web.db-limiter.paths:" + DEFAULT_DB_PATHS + "}") List<String> paths) {
+        int limit = permits > 0 ? permits : poolSize(dataSource);
+        log.info("db concurrency limiter: permits={}, timeout={}ms, paths={}", limit, timeoutMillis, paths);
+        return new DbConcurrencyLimitFilter(limit, timeoutMillis, paths);
+    }
+
+    // SQL 추적 프록시가 DataSource 를 감싸고 있어서 unwrap, 풀 생성 전에 설정하지 않았으면 -1 이라 Hikari 기본값(10)
+    private int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                if (maximumPoolSize > 0)
+                    return maximumPoolSize;
+            }
+        } catch (SQLException e) {
+            log.debug("could not unwrap HikariDataSource", e);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+
+}
@@ -0,0 +1,38 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.service.SalesAggregate;
+import jpabook.jpashop.service.SalesAnalyticsService;
+import jpabook.jpashop.service.SalesGroupBy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 판매 집계 (메모리 집계만 읽음, 주문 테이블 조회 없음)
+ */
+@RestController @RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping(value = "/analytics/sales")
+    public List<SalesAggregate> sales(@RequestParam(name = "groupBy", defaultValue = "ITEM") SalesGroupBy groupBy,
+                                      @RequestParam(name = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                      @RequestParam(name = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        return salesAnalyticsService.findSales(groupBy, fromDate, toDate);
+    }
+
+    // 주문 테이블 전체를 group by 로 다시 집계 (운영자용)
+    @PostMapping(value = "/analytics/sales/rebuild")
+    public Map<String, Integer> rebuild() {
+        return Map.of("rows", salesAnalyticsService.rebuild());
+    }
+
+}
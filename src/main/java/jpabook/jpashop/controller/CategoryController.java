@@ -0,0 +1,53 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.CategoryService;
+import jpabook.jpashop.service.CategoryTree;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@Controller @RequiredArgsConstructor
+public class CategoryController {
+
+    private final CategoryService categoryService;
+
+    // 카테고리 트리 (메모리 스냅샷)
+    @GetMapping(value = "/categories")
+    @ResponseBody
+    public List<CategoryTree.Node> tree() {
+        return categoryService.getTree().getRoots();
+    }
+
+    @PostMapping(value = "/categories")
+    @ResponseBody
+    public Map<String, Long> create(@RequestParam(name = "name") String name,
+                                    @RequestParam(name = "parentId", required = false) Long parentId) {
+        return Map.of("categoryId", categoryService.createCategory(name, parentId));
+    }
+
+    @PostMapping(value = "/categories/{categoryId}/items")
+    @ResponseBody
+    public Map<String, Long> addItem(@PathVariable(name = "categoryId") Long categoryId,
+                                     @RequestParam(name = "itemId") Long itemId) {
+        categoryService.addItem(categoryId, itemId);
+        return Map.of("categoryId", categoryId, "itemId", itemId);
+    }
+
+    // 하위 카테고리까지 포함한 상품 목록
+    @GetMapping(value = "/categories/{categoryId}/items")
+    public String items(@PathVariable(name = "categoryId") Long categoryId, Model model) {
+        List<Item> items = categoryService.findItems(categoryId);
+        model.addAttribute("items", items);
+        return "items/itemList";
+    }
+
+}
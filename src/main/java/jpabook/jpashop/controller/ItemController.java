@@ -1,7 +1,14 @@
 package jpabook.jpashop.controller;
 
 import jpabook.jpashop.domain.item.Book;
-import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemListSearch;
+import jpabook.jpashop.repository.ItemSummary;
+import jpabook.jpashop.repository.ItemSummaryPage;
+import jpabook.jpashop.service.ItemImportFormat;
+import jpabook.jpashop.service.ItemImportResult;
+import jpabook.jpashop.service.ItemImportService;
+import jpabook.jpashop.service.ItemSearchResult;
+import jpabook.jpashop.service.ItemSearchService;
 import jpabook.jpashop.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -10,14 +17,26 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 @Controller @RequiredArgsConstructor
 public class ItemController {
 
     private final ItemService itemService;
 
+    private final ItemImportService itemImportService;
+
+    private final ItemSearchService itemSearchService;
+
     @GetMapping(value = "/items/new")
     public String createForm(Model model) {
         model.addAttribute("form", new BookForm());
@@ -37,23 +56,68 @@ public class ItemController {
         return "redirect:/";
     }
 
+    // 상품 일괄 등록 (CSV / NDJSON 업로드)
+    @PostMapping(value = "/items/import")
+    @ResponseBody
+    public ItemImportResult importItems(@RequestParam(name = "file") MultipartFile file,
+                                        @RequestParam(name = "format", defaultValue = "CSV") ItemImportFormat format) throws IOException {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return itemImportService.importItems(reader, format);
+        }
+    }
+
+    // 검색어가 있으면 검색 색인에서 점수 순으로, 없으면 공통 컬럼만 키셋 페이징
     @GetMapping(value = "/items")
-    public String list(Model model) {
-        List<Item> items = itemService.findItems();
-        model.addAttribute("items", items);
+    public String list(@RequestParam(name = "q", required = false) String query,
+                       @RequestParam(name = "page", defaultValue = "0") int page,
+                       @ModelAttribute("itemListSearch") ItemListSearch itemListSearch,
+                       Model model) {
+        if (StringUtils.hasText(query)) {
+            model.addAttribute("items", itemSearchService.searchItems(query, page, itemListSearch.getLimit()));
+        } else {
+            ItemSummaryPage itemPage = itemService.findItemSummaries(itemListSearch);
+            model.addAttribute("items", itemPage.getContent());
+            model.addAttribute("page", itemPage);
+        }
+        model.addAttribute("q", query);
         return "items/itemList";
     }
 
+    @GetMapping(value = "/items/search")
+    @ResponseBody
+    public ItemSearchResult search(@RequestParam(name = "q", defaultValue = "") String query,
+                                   @RequestParam(name = "page", defaultValue = "0") int page,
+                                   @RequestParam(name = "size", defaultValue = "20") int size) {
+        return itemSearchService.search(query, page, size);
+    }
+
+    @PostMapping(value = "/items/search/rebuild")
+    @ResponseBody
+    public Map<String, Integer> rebuildSearchIndex() {
+        return Map.of("items", itemSearchService.rebuild());
+    }
+
+    // 책은 책 컬럼까지 한번에, 다른 종류는 공통 컬럼만 (수정도 공통 컬럼만 함)
     @GetMapping(value = "/items/{itemId}/edit")
     public String updateItemForm(@PathVariable(name = "itemId") Long itemId, Model model) {
-        Book item = (Book) itemService.findOne(itemId);
         BookForm bookForm = new BookForm();
-        bookForm.setId(item.getId());
-        bookForm.setName(item.getName());
-        bookForm.setPrice(item.getPrice());
-        bookForm.setStockQuantity(item.getStockQuantity());
-        bookForm.setAuthor(item.getAuthor());
-        bookForm.setIsbn(item.getIsbn());
+        Book book = itemService.findDetail(itemId, Book.class);
+        if (book != null) {
+            bookForm.setId(book.getId());
+            bookForm.setName(book.getName());
+            bookForm.setPrice(book.getPrice());
+            bookForm.setStockQuantity(book.getStockQuantity());
+            bookForm.setAuthor(book.getAuthor());
+            bookForm.setIsbn(book.getIsbn());
+        } else {
+            ItemSummary item = itemService.findItemSummary(itemId);
+            if (item == null)
+                throw new IllegalArgumentException("존재하지 않는 상품입니다.");
+            bookForm.setId(item.getId());
+            bookForm.setName(item.getName());
+            bookForm.setPrice(item.getPrice());
+            bookForm.setStockQuantity(item.getStockQuantity());
+        }
 
         model.addAttribute("form", bookForm);
         return "items/updateItemForm";
@@ -3,13 +3,19 @@ package jpabook.jpashop.controller;
 import jakarta.validation.Valid;
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberSearch;
+import jpabook.jpashop.repository.MemberSummaryDto;
+import jpabook.jpashop.repository.MemberSummaryPage;
 import jpabook.jpashop.service.MemberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.util.List;
 
@@ -33,15 +39,28 @@ public class MemberController {
         member.setName(form.getName());
         member.setAddress(address);
 
-        memberService.join(member);
+        try {
+            memberService.join(member);
+        } catch (IllegalStateException e) {
+            bindingResult.rejectValue("name", "duplicate", e.getMessage());
+            return "members/createMemberForm";
+        }
         return "redirect:/";
     }
 
     @GetMapping(value = "/members")
-    public String list(Model model) {
-        List<Member> members = memberService.findMembers();
-        model.addAttribute("members", members);
+    public String list(@ModelAttribute("memberSearch") MemberSearch memberSearch, Model model) {
+        MemberSummaryPage page = memberService.findMemberSummaries(memberSearch);
+        model.addAttribute("members", page.getContent());
+        model.addAttribute("page", page);
         return "/members/memberList";
     }
 
+    // 주문 화면 회원 검색 (typeahead)
+    @GetMapping(value = "/members/search")
+    @ResponseBody
+    public List<MemberSummaryDto> search(@RequestParam(name = "q", defaultValue = "") String query) {
+        return memberService.searchMembers(query);
+    }
+
 }
@@ -1,17 +1,19 @@
 package jpabook.jpashop.controller;
 
-import jpabook.jpashop.domain.Member;
-import jpabook.jpashop.domain.Order;
-import jpabook.jpashop.domain.item.Item;
+import jakarta.servlet.http.HttpServletResponse;
+import jpabook.jpashop.repository.ItemSummary;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryPage;
 import jpabook.jpashop.service.ItemService;
-import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderExportFormat;
+import jpabook.jpashop.service.OrderExportService;
 import jpabook.jpashop.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @Controller @RequiredArgsConstructor
@@ -19,16 +21,14 @@ public class OrderController {
 
     private final OrderService orderService;
 
-    private final MemberService memberService;
-
     private final ItemService itemService;
 
+    private final OrderExportService orderExportService;
+
     @GetMapping(value = "/order")
     public String createForm(Model model) {
-        List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
+        List<ItemSummary> items = itemService.findAllItemSummaries();   // 회원은 화면에서 /members/search 로 검색
 
-        model.addAttribute("members", members);
         model.addAttribute("items", items);
 
         return "order/orderForm";
@@ -36,21 +36,33 @@ public class OrderController {
 
     @PostMapping(value = "/order")
     public String order(@RequestParam(name = "memberId") Long memberId,
-                        @RequestParam(name = "itemId") Long itemId,
-                        @RequestParam(name = "count") int count) {
-
-        orderService.order(memberId, itemId, count);
+                        @RequestParam(name = "itemId") List<Long> itemIds,
+                        @RequestParam(name = "count") List<Integer> counts) {
+        orderService.order(memberId, OrderLineParams.toOrderLines(itemIds, counts));
         return "redirect:/orders";
     }
 
     @GetMapping(value = "/orders")
     public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
-        List<Order> orders = orderService.findOrders(orderSearch);
-        model.addAttribute("orders", orders);
+        OrderSummaryPage page = orderService.findOrderSummaries(orderSearch);
+        model.addAttribute("orders", page.getContent());
+        model.addAttribute("page", page);
 
         return "order/orderList";
     }
 
+    // 주문 내보내기 (정산용), 응답으로 바로 스트리밍
+    @GetMapping(value = "/orders/export")
+    public void export(@ModelAttribute("orderSearch") OrderSearch orderSearch,
+                       @RequestParam(name = "format", defaultValue = "CSV") OrderExportFormat format,
+                       HttpServletResponse response) throws IOException {
+        String extension = format == OrderExportFormat.JSON ? "json" : "csv";
+        response.setContentType(format == OrderExportFormat.JSON ? "application/json" : "text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"orders." + extension + "\"");
+        orderExportService.export(orderSearch, format, response.getWriter());
+    }
+
     @PostMapping(value = "/orders/{orderId}/cancel")
     public String cancelOrder(@PathVariable(name = "orderId") Long orderId) {
         orderService.cancelOrder(orderId);
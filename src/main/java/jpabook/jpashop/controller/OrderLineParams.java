@@ -0,0 +1,34 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.service.OrderLine;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 폼의 itemId / count 파라미터 --> 주문 라인
+ * 개수가 다르거나 빈 값(수량을 지운 칸 등은 null 로 바인딩) 이 있으면 500 이 아니라 400 으로 거절
+ */
+final class OrderLineParams {
+
+    private OrderLineParams() {
+    }
+
+    static List<OrderLine> toOrderLines(List<Long> itemIds, List<Integer> counts) {
+        if (itemIds.size() != counts.size())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "상품과 주문수량의 개수가 다릅니다.");
+
+        List<OrderLine> orderLines = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            if (itemIds.get(i) == null)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "주문할 상품을 선택해야 합니다.");
+            if (counts.get(i) == null)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "주문수량을 입력해야 합니다.");
+            orderLines.add(new OrderLine(itemIds.get(i), counts.get(i)));
+        }
+        return orderLines;
+    }
+
+}
@@ -0,0 +1,53 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.exception.OrderQueueFullException;
+import jpabook.jpashop.service.AsyncOrderService;
+import jpabook.jpashop.service.OrderLine;
+import jpabook.jpashop.service.OrderTicket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비동기 주문 (접수 --> 202 + 접수표, 대기열이 가득 차면 429)
+ */
+@RestController @RequiredArgsConstructor
+public class OrderTicketController {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AsyncOrderService asyncOrderService;
+
+    @PostMapping(value = "/order/async")
+    public ResponseEntity<Object> order(@RequestParam(name = "memberId") Long memberId,
+                                        @RequestParam(name = "itemId") List<Long> itemIds,
+                                        @RequestParam(name = "count") List<Integer> counts) {
+        List<OrderLine> orderLines = OrderLineParams.toOrderLines(itemIds, counts);
+
+        try {
+            OrderTicket ticket = asyncOrderService.submit(memberId, orderLines);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/order/tickets/" + ticket.getTicketId()))
+                    .body(ticket);
+        } catch (OrderQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/order/tickets/{ticketId}")
+    public ResponseEntity<OrderTicket> ticket(@PathVariable(name = "ticketId") String ticketId) {
+        OrderTicket ticket = asyncOrderService.findTicket(ticketId);
+        if (ticket == null)
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(ticket);
+    }
+
+}
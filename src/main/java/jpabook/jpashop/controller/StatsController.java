@@ -0,0 +1,74 @@
+package jpabook.jpashop.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.aop.ContentionMetrics;
+import jpabook.jpashop.config.DbConcurrencyLimitFilter;
+import jpabook.jpashop.config.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController @RequiredArgsConstructor
+public class StatsController {
+
+    private final ContentionMetrics contentionMetrics;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectProvider<DbConcurrencyLimitFilter> dbConcurrencyLimitFilter;
+
+    private final DataSource dataSource;
+
+    // 낙관적 락 경합 현황 (엔티티#id 별)
+    @GetMapping(value = "/stats/contention")
+    public Map<String, Map<String, Long>> contention() {
+        return contentionMetrics.snapshot();
+    }
+
+    // 2차 캐시 region 별 hit / miss / put
+    @GetMapping(value = "/stats/cache")
+    public Map<String, Map<String, Long>> cache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Long>> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+            if (regionStatistics == null)
+                continue;
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("hit", regionStatistics.getHitCount());
+            values.put("miss", regionStatistics.getMissCount());
+            values.put("put", regionStatistics.getPutCount());
+            values.put("size", regionStatistics.getElementCountInMemory());
+            regions.put(regionName, values);
+        }
+        return regions;
+    }
+
+    // DB 동시 처리 제한 현황 (가상 스레드 모드에서만, 아니면 빈 값)
+    @GetMapping(value = "/stats/db-limiter")
+    public Map<String, Long> dbLimiter() {
+        DbConcurrencyLimitFilter filter = dbConcurrencyLimitFilter.getIfAvailable();
+        return filter == null ? Collections.emptyMap() : filter.snapshot();
+    }
+
+    // 주 DB / 복제본별 커넥션 수, 복제본 지연 (복제본 라우팅을 켠 경우만, 아니면 빈 값)
+    // SQL 추적 프록시가 감싸고 있어서 unwrap
+    @GetMapping(value = "/stats/datasource")
+    public Map<String, Map<String, Long>> dataSourceRouting() throws SQLException {
+        if (!dataSource.isWrapperFor(ReplicaRoutingDataSource.class))
+            return Collections.emptyMap();
+        return dataSource.unwrap(ReplicaRoutingDataSource.class).snapshot();
+    }
+
+}
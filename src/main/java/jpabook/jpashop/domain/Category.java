@@ -2,21 +2,42 @@ package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
 import jpabook.jpashop.domain.item.Item;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity @Getter @Setter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
+@Table(indexes = @Index(name = "idx_category_path", columnList = "path"))
 public class Category {
 
-    @Id @GeneratedValue
+    public static final String SUBTREE_CACHE_REGION = "category-subtree";
+
+    @Id @GeneratedValue(generator = "category_seq")
+    @GenericGenerator(name = "category_seq", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+            @Parameter(name = "sequence_name", value = "category_seq"),
+            @Parameter(name = "increment_size", value = "20")})
     @Column(name = "category_id")
     private Long id;
 
     private String name;
 
+    // 루트부터 자신까지의 id 경로 ("/1/5/12/"), 하위 트리는 path like '/1/5/%' 인덱스 범위 검색 한번으로 조회
+    @Setter(AccessLevel.NONE)
+    @Column(name = "path", length = 500)
+    private String path;
+
+    @Setter(AccessLevel.NONE)
+    private int depth;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category.items")
     @JoinTable(
             name = "category_item",
             joinColumns = @JoinColumn(name = "category_id"),
@@ -28,11 +49,26 @@ public class Category {
     private Category parent;
 
     @OneToMany(mappedBy = "parent")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category.child")
     private List<Category> child = new ArrayList<>();
 
     public void addChildCategory(Category child) {
         this.child.add(child);
         child.setParent(this);
+        child.assignPath();
+    }
+
+    /**
+     * 경로 계산 (id 가 있어야 해서 persist 후에 호출, 아직 id / 부모 경로가 없으면 건너뜀)
+     * 이미 하위 카테고리가 있는 카테고리를 옮기면 하위 카테고리 경로도 같이 갱신
+     */
+    public void assignPath() {
+        if (id == null || (parent != null && parent.path == null))
+            return;
+        path = (parent == null ? "/" : parent.path) + id + "/";
+        depth = parent == null ? 0 : parent.depth + 1;
+        for (Category category : child)
+            category.assignPath();
     }
 
 }
@@ -3,14 +3,26 @@ package jpabook.jpashop.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity @Getter @Setter
+@Table(uniqueConstraints = @UniqueConstraint(name = Member.UK_NAME, columnNames = "name")) // 회원 이름 중복 방지 + 이름 조회용 인덱스
+@NamedEntityGraph(name = Member.GRAPH_ORDERS, attributeNodes = @NamedAttributeNode("orders"))
 public class Member {
 
-    @Id @GeneratedValue
+    public static final String UK_NAME = "uk_member_name";
+
+    // 회원 목록 + 주문 (페이징 없는 조회에만, 컬렉션 join fetch 라 페이징하면 메모리에서 자름)
+    public static final String GRAPH_ORDERS = "Member.withOrders";
+
+    @Id @GeneratedValue(generator = "member_seq")
+    @GenericGenerator(name = "member_seq", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+            @Parameter(name = "sequence_name", value = "member_seq"),
+            @Parameter(name = "increment_size", value = "50")})
     @Column(name = "member_id")
     private Long id;
 
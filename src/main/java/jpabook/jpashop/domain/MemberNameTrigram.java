@@ -0,0 +1,55 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 회원 이름 trigram 인덱스 (이름 포함 검색용 보조 테이블)
+ * "kimchi" --> kim, imc, mch, chi
+ * '%검색어%' 는 인덱스를 탈 수 없기 때문에, 검색어의 trigram 을 모두 가진 회원을 먼저 찾고 그 회원들만 LIKE 로 확인함.
+ */
+@Entity @Getter @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "member_name_trigram", indexes = @Index(name = "idx_member_name_trigram_gram", columnList = "gram, member_id"))
+public class MemberNameTrigram {
+
+    public static final int GRAM_SIZE = 3;
+
+    @Id @GeneratedValue(generator = "member_name_trigram_seq")
+    @GenericGenerator(name = "member_name_trigram_seq", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+            @Parameter(name = "sequence_name", value = "member_name_trigram_seq"),
+            @Parameter(name = "increment_size", value = "100")})
+    @Column(name = "member_name_trigram_id")
+    private Long id;
+
+    @Column(name = "gram", length = GRAM_SIZE, nullable = false)
+    private String gram;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    //==== 생성 메서드 ====
+    public static MemberNameTrigram createMemberNameTrigram(String gram, Long memberId) {
+        MemberNameTrigram trigram = new MemberNameTrigram();
+        trigram.gram = gram;
+        trigram.memberId = memberId;
+        return trigram;
+    }
+
+    // 이름을 trigram 으로 분리 (GRAM_SIZE 보다 짧으면 빈 Set)
+    public static Set<String> grams(String name) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (name == null)
+            return grams;
+        for (int i = 0; i + GRAM_SIZE <= name.length(); i++)
+            grams.add(name.substring(i, i + GRAM_SIZE));
+        return grams;
+    }
+
+}
@@ -5,16 +5,27 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity @Getter @Setter @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status_order_date", columnList = "status, order_date")) // 상태 + 주문일 범위 검색
+@NamedEntityGraph(name = Order.GRAPH_MEMBER_DELIVERY, attributeNodes = {@NamedAttributeNode("member"), @NamedAttributeNode("delivery")})
 public class Order {
 
-    @Id @GeneratedValue
+    // 주문 검색 (페이징) 용, to-one 만 join fetch 하고 주문상품은 아래 subselect 로
+    public static final String GRAPH_MEMBER_DELIVERY = "Order.withMemberAndDelivery";
+
+    @Id @GeneratedValue(generator = "orders_seq")
+    @GenericGenerator(name = "orders_seq", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+            @Parameter(name = "sequence_name", value = "orders_seq"),
+            @Parameter(name = "increment_size", value = "50")})
     @Column(name = "order_id")
     private Long id;
 
@@ -22,7 +33,9 @@ public class Order {
     @JoinColumn(name = "member_id")
     private Member member;
 
+    // 주문 목록을 돌면서 처음 접근할 때 같은 쿼리로 조회한 주문 전체의 주문상품을 한번에 (default_batch_fetch_size 대신)
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<OrderItem> orderItems = new ArrayList<>();
 
     @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
@@ -30,11 +43,22 @@ public class Order {
     private Delivery delivery;
 
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Column(name = "order_date")
     private LocalDateTime orderDate;
 
     @Enumerated(value = EnumType.STRING)
     private OrderStatus status;
 
+    // 주문상품을 추가할 때 같이 계산해 둠 (목록 / 내보내기에서 orderItems 를 읽지 않도록)
+    @Column(name = "total_price")
+    private int totalPrice;
+
+    @Column(name = "item_count")
+    private int itemCount;
+
+    @Version
+    private Long version;
+
     public void setMember(Member member) {
         this.member = member;
         member.getOrders().add(this);
@@ -43,6 +67,8 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice += orderItem.getTotalPrice();
+        itemCount++;
     }
 
     public void setDelivery(Delivery delivery) {
@@ -66,20 +92,18 @@ public class Order {
 
     // 주문 취소
     public void cancel() {
-        if (delivery.getStatus() == DeliveryStatus.COMP)
-            throw new IllegalStateException("이미 배송완료된 상품은 취소가 불가능합니다.");
-        this.setStatus(OrderStatus.CANCEL);
+        cancelWithoutRestock();
         for (OrderItem orderItem : orderItems)
             orderItem.cancel();
     }
 
-    //==== 조회 로직 ====
-
-    // 전체 주문 가겨 조회
-    public int getTotalPrice() {
-        return orderItems.stream()
-                .mapToInt(OrderItem::getTotalPrice)
-                .sum();
+    // 주문 취소 (재고 복원은 재고 예약 엔진이 담당하는 경우)
+    public void cancelWithoutRestock() {
+        if (status == OrderStatus.CANCEL)
+            throw new IllegalStateException("이미 취소된 주문입니다.");
+        if (delivery.getStatus() == DeliveryStatus.COMP)
+            throw new IllegalStateException("이미 배송완료된 상품은 취소가 불가능합니다.");
+        this.setStatus(OrderStatus.CANCEL);
     }
 
 }
@@ -6,12 +6,17 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 @Entity @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OrderItem {
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(generator = "order_item_seq")
+    @GenericGenerator(name = "order_item_seq", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+            @Parameter(name = "sequence_name", value = "order_item_seq"),
+            @Parameter(name = "increment_size", value = "100")})
     @Column(name = "order_item_id")
     private Long id;
 
@@ -38,6 +43,15 @@ public class OrderItem {
         return orderItem;
     }
 
+    // 재고 예약 엔진에서 이미 재고를 차감한 경우 (Item 엔티티의 재고는 건드리지 않음)
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setOrderPrice(orderPrice);
+        orderItem.setCount(count);
+        return orderItem;
+    }
+
     //==== 비지니스 로직 ====
     public void cancel() {
         getItem().addStock(count);
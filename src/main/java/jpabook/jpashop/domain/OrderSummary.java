@@ -0,0 +1,65 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 화면용 read model (주문 1건 = 1행)
+ * 주문 저장 / 취소 때 OrderRepository 가 같은 트랜잭션에서 같이 갱신. 목록은 join 없이 이 테이블만 인덱스 순서대로 읽음.
+ * 회원 이름 / 대표상품 이름은 주문 시점 값.
+ */
+@Entity @Getter @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "order_summary", indexes = {
+        @Index(name = "idx_order_summary_status", columnList = "status, order_id"),       // 상태별 목록
+        @Index(name = "idx_order_summary_member_name", columnList = "member_name")})       // 회원 이름 앞부분 검색
+public class OrderSummary {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(name = "member_name")
+    private String memberName;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Column(name = "total_price")
+    private int totalPrice;
+
+    @Column(name = "item_count")
+    private int itemCount;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "status")
+    private OrderStatus status;
+
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+
+    // 대표상품은 첫번째 주문상품
+    public static OrderSummary of(Order order) {
+        OrderSummary summary = new OrderSummary();
+        summary.orderId = order.getId();
+        summary.memberId = order.getMember().getId();
+        summary.memberName = order.getMember().getName();
+        summary.itemName = order.getOrderItems().isEmpty() ? null : order.getOrderItems().get(0).getItem().getName();
+        summary.totalPrice = order.getTotalPrice();
+        summary.itemCount = order.getItemCount();
+        summary.status = order.getStatus();
+        summary.orderDate = order.getOrderDate();
+        return summary;
+    }
+
+    public void changeStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+}
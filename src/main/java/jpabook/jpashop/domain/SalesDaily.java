@@ -0,0 +1,58 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.time.LocalDate;
+
+/**
+ * 상품 / 일자 / 주문상태 별 판매 집계 스냅샷
+ * 메모리 집계(SalesAnalyticsService)를 주기적으로 저장해 둔 것, 재시작 시 주문 테이블 대신 이걸 읽음.
+ */
+@Entity @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "sales_daily", uniqueConstraints = @UniqueConstraint(name = "uk_sales_daily", columnNames = {"sales_date", "item_id", "status"}))
+public class SalesDaily {
+
+    @Id @GeneratedValue(generator = "sales_daily_seq")
+    @GenericGenerator(name = "sales_daily_seq", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+            @Parameter(name = "sequence_name", value = "sales_daily_seq"),
+            @Parameter(name = "increment_size", value = "100")})
+    @Column(name = "sales_daily_id")
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    private long quantity;
+
+    private long revenue;
+
+    //==== 생성 메서드 ====
+    public static SalesDaily createSalesDaily(Long itemId, LocalDate salesDate, OrderStatus status, long quantity, long revenue) {
+        SalesDaily salesDaily = new SalesDaily();
+        salesDaily.itemId = itemId;
+        salesDaily.salesDate = salesDate;
+        salesDaily.status = status;
+        salesDaily.quantity = quantity;
+        salesDaily.revenue = revenue;
+        return salesDaily;
+    }
+
+    public void update(long quantity, long revenue) {
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+}
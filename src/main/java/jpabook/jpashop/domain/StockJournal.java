@@ -0,0 +1,43 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고 변경 선기록(write-ahead) 저널
+ * 주문/취소 트랜잭션과 함께 커밋되고, 비동기 flush 시 Item.stockQuantity 에 합산 반영된 후 삭제됨.
+ */
+@Entity @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockJournal {
+
+    @Id @GeneratedValue(generator = "stock_journal_seq")
+    @GenericGenerator(name = "stock_journal_seq", strategy = PooledSequenceGenerator.STRATEGY, parameters = {
+            @Parameter(name = "sequence_name", value = "stock_journal_seq"),
+            @Parameter(name = "increment_size", value = "100")})
+    @Column(name = "stock_journal_id")
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    private int delta;
+
+    private LocalDateTime createdDate;
+
+    //==== 생성 메서드 ====
+    public static StockJournal createStockJournal(Long itemId, int delta) {
+        StockJournal stockJournal = new StockJournal();
+        stockJournal.itemId = itemId;
+        stockJournal.delta = delta;
+        stockJournal.createdDate = LocalDateTime.now();
+        return stockJournal;
+    }
+
+}
@@ -0,0 +1,36 @@
+package jpabook.jpashop.domain.item;
+
+/**
+ * 상품 종류 (dtype 구분값 / 엔티티 클래스)
+ */
+public enum ItemType {
+
+    BOOK("B", Book.class),
+    ALBUM("A", Album.class),
+    MOVIE("M", Movie.class);
+
+    private final String dtype;
+
+    private final Class<? extends Item> entityClass;
+
+    ItemType(String dtype, Class<? extends Item> entityClass) {
+        this.dtype = dtype;
+        this.entityClass = entityClass;
+    }
+
+    public String getDtype() {
+        return dtype;
+    }
+
+    public Class<? extends Item> getEntityClass() {
+        return entityClass;
+    }
+
+    public static ItemType of(Class<?> entityClass) {
+        for (ItemType itemType : values())
+            if (itemType.entityClass.isAssignableFrom(entityClass))
+                return itemType;
+        throw new IllegalArgumentException("알 수 없는 상품 종류입니다. " + entityClass.getName());
+    }
+
+}
@@ -0,0 +1,14 @@
+package jpabook.jpashop.exception;
+
+// 비동기 주문 대기열이 가득 찬 경우 (클라이언트는 잠시 후 다시 시도)
+public class OrderQueueFullException extends RuntimeException {
+
+    public OrderQueueFullException() {
+        super();
+    }
+
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+
+}
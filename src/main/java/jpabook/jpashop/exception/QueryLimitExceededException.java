@@ -0,0 +1,13 @@
+package jpabook.jpashop.exception;
+
+public class QueryLimitExceededException extends RuntimeException {
+
+    public QueryLimitExceededException() {
+        super();
+    }
+
+    public QueryLimitExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,93 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.aop.ServiceTimingAspect;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /actuator/hotpath
+ * services  : 서비스 메서드별 호출 수 / 평균 / 최대 (jpashop.service 타이머)
+ * endpoints : 엔드포인트별 요청당 SQL / 엔티티 로딩 / 2차 캐시 hit, miss
+ * hibernate : 전체 Hibernate 통계 (hibernate.generate_statistics=true 일 때만 값이 쌓임)
+ * sql       : SQL 종류별 실행 시간 히스토그램 (버킷 ms 이하 누적 건수) + 최근 느린 SQL
+ */
+@Component @RequiredArgsConstructor
+@Endpoint(id = "hotpath")
+public class HotPathEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    private final RequestMetrics requestMetrics;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public Map<String, Object> hotPath() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("services", services());
+        result.put("endpoints", requestMetrics.snapshot());
+        result.put("hibernate", hibernate());
+        result.put("sql", sqlHistograms());
+        result.put("slowQueries", slowQueryLog.snapshot());
+        return result;
+    }
+
+    private Map<String, Map<String, Object>> sqlHistograms() {
+        Map<String, Map<String, Object>> histograms = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(SqlTraceListener.METRIC_NAME).timers()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", timer.count());
+            values.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            for (CountAtBucket bucket : timer.takeSnapshot().histogramCounts())
+                values.put("le" + (long) bucket.bucket(TimeUnit.MILLISECONDS) + "ms", (long) bucket.count());
+            histograms.put(timer.getId().getTag("type"), values);
+        }
+        return histograms;
+    }
+
+    private Map<String, Map<String, Object>> services() {
+        Map<String, Map<String, Object>> services = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(ServiceTimingAspect.METRIC_NAME).timers()) {
+            String key = timer.getId().getTag("class") + "." + timer.getId().getTag("method");
+            String exception = timer.getId().getTag("exception");
+            if (!"none".equals(exception))
+                key += " (" + exception + ")";
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", timer.count());
+            values.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            values.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            services.put(key, values);
+        }
+        return services;
+    }
+
+    private Map<String, Long> hibernate() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("statements", statistics.getPrepareStatementCount());
+        values.put("queries", statistics.getQueryExecutionCount());
+        values.put("slowestQueryMs", statistics.getQueryExecutionMaxTime());
+        values.put("entityLoads", statistics.getEntityLoadCount());
+        values.put("entityFetches", statistics.getEntityFetchCount());
+        values.put("collectionFetches", statistics.getCollectionFetchCount());
+        values.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        values.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        return values;
+    }
+
+}
@@ -0,0 +1,51 @@
+package jpabook.jpashop.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 요청별 Hibernate 사용량 집계 (RequestStatistics) 연결
+ * jpashop.monitoring.query-guard.max-statements : 요청당 SQL 수 제한 (0 이면 제한 없음)
+ * jpashop.monitoring.query-guard.fail           : true 면 제한을 넘는 순간 요청 실패, false 면 경고 로그만
+ * jpashop.sql.trace.sample-rate                  : 요청 N 개 중 하나는 SQL + 파라미터 전체를 로그로 (0 이면 안 함)
+ * jpashop.sql.trace.slow-request-ms              : 이 시간을 넘은 요청은 SQL 수 / 시간 요약을 로그로
+ */
+@Configuration @RequiredArgsConstructor
+public class MonitoringConfig implements WebMvcConfigurer {
+
+    private final RequestMetrics requestMetrics;
+
+    @Value("${jpashop.monitoring.query-guard.max-statements:50}")
+    private int maxStatements;
+
+    @Value("${jpashop.monitoring.query-guard.fail:false}")
+    private boolean failOnLimit;
+
+    @Value("${jpashop.sql.trace.sample-rate:0}")
+    private int sampleRate;
+
+    @Value("${jpashop.sql.trace.slow-request-ms:1000}")
+    private long slowRequestMillis;
+
+    // EntityManagerFactory 보다 먼저 필요해서 static
+    @Bean
+    public static HibernatePropertiesCustomizer requestStatisticsHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatisticsInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestStatisticsSessionListener.class.getName());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestStatisticsInterceptor(requestMetrics, maxStatements, failOnLimit, sampleRate, slowRequestMillis))
+                .excludePathPatterns("/css/**", "/js/**", "/actuator/**");
+    }
+
+}
@@ -0,0 +1,87 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트(메서드 + URI 패턴) 별 요청당 Hibernate 사용량 집계
+ * Micrometer 로도 내보냄 (jpashop.request.statements / entity.loads / cache, 태그 method, uri)
+ */
+@Component @RequiredArgsConstructor
+public class RequestMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerPostLoadListener() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new RequestStatisticsSessionListener.PostLoadListener());
+    }
+
+    public void record(String method, String uri, RequestStatistics statistics) {
+        Tags tags = Tags.of("method", method, "uri", uri);
+        DistributionSummary.builder("jpashop.request.statements").tags(tags).register(meterRegistry).record(statistics.getStatements());
+        DistributionSummary.builder("jpashop.request.entity.loads").tags(tags).register(meterRegistry).record(statistics.getEntityLoads());
+        Counter.builder("jpashop.request.cache").tags(tags).tag("result", "hit").register(meterRegistry).increment(statistics.getCacheHits());
+        Counter.builder("jpashop.request.cache").tags(tags).tag("result", "miss").register(meterRegistry).increment(statistics.getCacheMisses());
+
+        Counters endpoint = counters.computeIfAbsent(method + " " + uri, k -> new Counters());
+        endpoint.requests.increment();
+        endpoint.statements.add(statistics.getStatements());
+        endpoint.maxStatements.accumulate(statistics.getStatements());
+        endpoint.entityLoads.add(statistics.getEntityLoads());
+        endpoint.cacheHits.add(statistics.getCacheHits());
+        endpoint.cacheMisses.add(statistics.getCacheMisses());
+        if (statistics.isOverLimit())
+            endpoint.overLimit.increment();
+    }
+
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        counters.forEach((key, value) -> {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("requests", value.requests.sum());
+            values.put("statements", value.statements.sum());
+            values.put("maxStatements", value.maxStatements.get());
+            values.put("entityLoads", value.entityLoads.sum());
+            values.put("cacheHits", value.cacheHits.sum());
+            values.put("cacheMisses", value.cacheMisses.sum());
+            values.put("overLimit", value.overLimit.sum());
+            snapshot.put(key, values);
+        });
+        return snapshot;
+    }
+
+    private static class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+        private final LongAdder overLimit = new LongAdder();
+    }
+
+}
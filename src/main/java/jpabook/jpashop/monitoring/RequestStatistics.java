@@ -0,0 +1,100 @@
+package jpabook.jpashop.monitoring;
+
+import jpabook.jpashop.exception.QueryLimitExceededException;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 하나 동안의 Hibernate 사용량 (SQL 수 / SQL 실행 시간 / 엔티티 로딩 수 / 2차 캐시 hit, miss)
+ * 샘플링된 요청은 실행한 SQL 과 파라미터까지 trace 에 남김.
+ * 요청 스레드의 ThreadLocal 에 두고 StatementInspector / 세션 이벤트 리스너가 채움. 요청 밖(스케줄러, 워커 스레드)에서는 집계하지 않음.
+ */
+@Getter
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final int maxStatements;
+
+    private final boolean failOnLimit;
+
+    private final boolean sampled;
+
+    private final long startNanos = System.nanoTime();
+
+    private final List<String> trace;
+
+    private int statements;
+
+    private long sqlMillis;
+
+    private int entityLoads;
+
+    private int cacheHits;
+
+    private int cacheMisses;
+
+    private RequestStatistics(int maxStatements, boolean failOnLimit, boolean sampled) {
+        this.maxStatements = maxStatements;
+        this.failOnLimit = failOnLimit;
+        this.sampled = sampled;
+        this.trace = sampled ? new ArrayList<>() : List.of();
+    }
+
+    public static RequestStatistics begin(int maxStatements, boolean failOnLimit) {
+        return begin(maxStatements, failOnLimit, false);
+    }
+
+    // maxStatements 가 0 이면 제한 없음
+    public static RequestStatistics begin(int maxStatements, boolean failOnLimit, boolean sampled) {
+        RequestStatistics statistics = new RequestStatistics(maxStatements, failOnLimit, sampled);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static RequestStatistics end() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public boolean isOverLimit() {
+        return maxStatements > 0 && statements > maxStatements;
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        if (failOnLimit && isOverLimit())
+            throw new QueryLimitExceededException("요청 하나에서 실행한 SQL 이 " + maxStatements + " 개를 넘었습니다. sql=" + sql);
+    }
+
+    void sqlExecuted(long elapsedMillis) {
+        sqlMillis += elapsedMillis;
+    }
+
+    void traced(String sql) {
+        trace.add(sql);
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void cacheGet(boolean hit) {
+        if (hit)
+            cacheHits++;
+        else
+            cacheMisses++;
+    }
+
+}
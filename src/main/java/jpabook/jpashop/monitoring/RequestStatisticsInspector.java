@@ -0,0 +1,18 @@
+package jpabook.jpashop.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * SQL 을 준비할 때마다 현재 요청의 SQL 수를 셈 (SQL 은 바꾸지 않음)
+ */
+public class RequestStatisticsInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null)
+            statistics.statementPrepared(sql);
+        return sql;
+    }
+
+}
@@ -0,0 +1,58 @@
+package jpabook.jpashop.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청마다 RequestStatistics 를 시작 / 종료하고 엔드포인트별로 집계
+ * SQL 수가 maxStatements 를 넘으면 경고 로그 (failOnLimit 이면 넘는 순간 QueryLimitExceededException)
+ * sampleRate 요청 중 하나는 실행한 SQL 전체를 남기고, slowRequestMillis 를 넘은 요청은 SQL 수 / 시간 요약을 남김.
+ */
+@Slf4j @RequiredArgsConstructor
+public class RequestStatisticsInterceptor implements HandlerInterceptor {
+
+    private final RequestMetrics requestMetrics;
+
+    private final int maxStatements;
+
+    private final boolean failOnLimit;
+
+    private final int sampleRate;
+
+    private final long slowRequestMillis;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        RequestStatistics.begin(maxStatements, failOnLimit, sampled);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatistics statistics = RequestStatistics.end();
+        if (statistics == null)
+            return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        requestMetrics.record(request.getMethod(), uri, statistics);
+        if (statistics.isOverLimit())
+            log.warn("query count guard: {} {} executed {} statements (limit {})",
+                    request.getMethod(), request.getRequestURI(), statistics.getStatements(), maxStatements);
+        long elapsedMillis = statistics.getElapsedMillis();
+        if (elapsedMillis >= slowRequestMillis)
+            log.warn("slow request: {} {} took {}ms, {} statements, {}ms in sql",
+                    request.getMethod(), request.getRequestURI(), elapsedMillis, statistics.getStatements(), statistics.getSqlMillis());
+        if (statistics.isSampled())
+            log.info("sampled request: {} {} took {}ms, {} statements, {}ms in sql\n  {}",
+                    request.getMethod(), request.getRequestURI(), elapsedMillis, statistics.getStatements(), statistics.getSqlMillis(),
+                    String.join("\n  ", statistics.getTrace()));
+    }
+
+}
@@ -0,0 +1,30 @@
+package jpabook.jpashop.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * 2차 캐시 조회 hit / miss 를 현재 요청에 기록 (hibernate.session.events.auto 로 세션마다 생성됨)
+ * 엔티티 로딩은 세션 이벤트에 없어서 POST_LOAD 리스너로 따로 기록.
+ */
+public class RequestStatisticsSessionListener extends BaseSessionEventListener {
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null)
+            statistics.cacheGet(hit);
+    }
+
+    static class PostLoadListener implements PostLoadEventListener {
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            RequestStatistics statistics = RequestStatistics.current();
+            if (statistics != null)
+                statistics.entityLoaded();
+        }
+    }
+
+}
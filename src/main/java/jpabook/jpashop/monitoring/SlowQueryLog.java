@@ -0,0 +1,41 @@
+package jpabook.jpashop.monitoring;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 최근 느린 SQL (파라미터 포함, 최대 CAPACITY 건)
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final int CAPACITY = 100;
+
+    private final Deque<Map<String, Object>> entries = new ArrayDeque<>();
+
+    public synchronized void add(long elapsedMillis, String sql) {
+        if (entries.size() == CAPACITY)
+            entries.removeFirst();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("time", LocalDateTime.now().toString());
+        entry.put("elapsedMs", elapsedMillis);
+        entry.put("sql", sql);
+        entries.addLast(entry);
+    }
+
+    // 최신순
+    public synchronized List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> snapshot = new ArrayList<>(entries);
+        Collections.reverse(snapshot);
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,43 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource 를 datasource-proxy 로 감싸서 SqlTraceListener 연결 (jpashop.sql.trace.enabled, 기본 true)
+ */
+@Configuration
+@ConditionalOnProperty(name = "jpashop.sql.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTraceConfig {
+
+    @Bean
+    public SqlTraceListener sqlTraceListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog,
+                                             @Value("${jpashop.sql.trace.slow-query-ms:100}") long slowQueryMillis) {
+        return new SqlTraceListener(meterRegistry, slowQueryLog, slowQueryMillis);
+    }
+
+    // DataSource 보다 먼저 등록되어야 해서 static, 리스너는 DataSource 를 감쌀 때 가져옴
+    @Bean
+    public static BeanPostProcessor sqlTraceDataSourcePostProcessor(ObjectProvider<SqlTraceListener> sqlTraceListener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource))
+                    return bean;
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(sqlTraceListener.getObject())
+                        .build();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,115 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 실행 시간 --> jpashop.sql 히스토그램 (태그 type : select / insert / update / delete / other)
+ * SQL 문자열 + 파라미터는 느린 SQL 이거나 샘플링된 요청일 때만 만듦. (나머지는 시간만 기록하고 끝)
+ */
+@Slf4j
+public class SqlTraceListener implements QueryExecutionListener {
+
+    public static final String METRIC_NAME = "jpashop.sql";
+
+    private static final Duration[] BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1)
+    };
+
+    private final MeterRegistry meterRegistry;
+
+    private final SlowQueryLog slowQueryLog;
+
+    private final long slowQueryMillis;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqlTraceListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog, long slowQueryMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        timer(typeOf(sql)).record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null)
+            statistics.sqlExecuted(elapsedMillis);
+
+        boolean slow = elapsedMillis >= slowQueryMillis;
+        boolean sampled = statistics != null && statistics.isSampled();
+        if (!slow && !sampled)
+            return;
+
+        String trace = format(execInfo, queryInfoList);
+        if (slow) {
+            slowQueryLog.add(elapsedMillis, trace);
+            log.warn("slow query {}ms: {}", elapsedMillis, trace);
+        }
+        if (sampled)
+            statistics.traced(elapsedMillis + "ms " + trace);
+    }
+
+    private Timer timer(String type) {
+        return timers.computeIfAbsent(type, key -> Timer.builder(METRIC_NAME)
+                .tag("type", key)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry));
+    }
+
+    private String typeOf(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = trimmed.indexOf(' ');
+        String keyword = (end < 0 ? trimmed : trimmed.substring(0, end)).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    // 배치는 SQL 한 번 + 파라미터 묶음 개수만
+    private String format(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StringBuilder builder = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            builder.append(queryInfo.getQuery());
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            if (execInfo.isBatch() && parametersList.size() > 1) {
+                builder.append(" [batch ").append(parametersList.size()).append(']');
+                continue;
+            }
+            for (List<ParameterSetOperation> parameters : parametersList) {
+                builder.append(" [");
+                for (int i = 0; i < parameters.size(); i++) {
+                    Object[] args = parameters.get(i).getArgs();
+                    if (i > 0)
+                        builder.append(", ");
+                    builder.append(args.length > 1 ? args[1] : null);
+                }
+                builder.append(']');
+            }
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,46 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository @RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    // persist 로 id 가 정해진 다음 경로 계산
+    public void save(Category category) {
+        if (category.getId() == null)
+            em.persist(category);
+        category.assignPath();
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    // 경로 순 정렬이라 부모가 항상 자식보다 먼저 나옴
+    public List<Category> findAllOrderByPath() {
+        return em.createQuery("select c from Category c order by c.path", Category.class)
+                .getResultList();
+    }
+
+    // 하위 트리 전체의 상품 (path 인덱스 범위 검색 + category_item 서브쿼리, 여러 카테고리에 속한 상품도 한번만)
+    public List<Item> findItemsInSubtree(String path) {
+        return em.createQuery(
+                        "select i from Item i" +
+                                " where i.id in (select ci.id from Category c join c.items ci where c.path like :path)" +
+                                " order by i.id", Item.class)
+                .setParameter("path", path + "%")
+                .setHint(AvailableHints.HINT_CACHEABLE, true) // 쿼리 캐시 (관련 테이블 변경시 자동 무효화)
+                .setHint(AvailableHints.HINT_CACHE_REGION, Category.SUBTREE_CACHE_REGION)
+                .getResultList();
+    }
+
+}
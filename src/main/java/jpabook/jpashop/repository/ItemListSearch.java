@@ -0,0 +1,26 @@
+package jpabook.jpashop.repository;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class ItemListSearch {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 100;
+
+    // 키셋 페이징 커서 (item_id 오름차순)
+    private Long after;     // 다음 페이지: 이 상품 id 보다 큰 상품
+
+    private Long before;    // 이전 페이지: 이 상품 id 보다 작은 상품
+
+    private int size = DEFAULT_SIZE;
+
+    public int getLimit() {
+        if (size <= 0)
+            return DEFAULT_SIZE;
+        return Math.min(size, MAX_SIZE);
+    }
+
+}
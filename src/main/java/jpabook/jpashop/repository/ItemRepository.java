@@ -1,14 +1,25 @@
 package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import jpabook.jpashop.domain.item.Item;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Repository @RequiredArgsConstructor
 public class ItemRepository {
 
+    private static final String SUMMARY_SELECT =
+            "select new jpabook.jpashop.repository.ItemSummary(i.id, i.name, i.price, i.stockQuantity, type(i)) from Item i";
+
     private final EntityManager em;
 
     public void save(Item item) {
@@ -18,13 +29,130 @@ public class ItemRepository {
             em.merge(item);
     }
 
+    // 일괄 등록 (항상 신규 상품, 2차 캐시에는 넣지 않음)
+    // 캐시 모드는 세션에 남기 때문에 (같은 트랜잭션 / open-in-view 의 이후 조회) 끝나면 원래대로
+    public void persistAll(List<Item> items) {
+        Session session = em.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET); // 캐시에서 읽기만 (CacheStoreMode.BYPASS)
+        try {
+            for (Item item : items)
+                em.persist(item);
+            em.flush();
+            em.clear();
+        } finally {
+            session.setCacheMode(previous);
+        }
+    }
+
     public Item findOne(Long id) {
         return em.find(Item.class, id);
     }
 
+    /**
+     * 상세 조회는 종류별로 (select 에 그 하위 타입 컬럼만 들어가고 dtype 조건이 붙음)
+     * 다른 종류의 상품이면 null
+     */
+    public <T extends Item> T findDetail(Long id, Class<T> type) {
+        List<T> items = em.createQuery("select i from " + type.getSimpleName() + " i where i.id = :id", type)
+                .setParameter("id", id)
+                .getResultList();
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    public ItemSummary findSummary(Long id) {
+        List<ItemSummary> summaries = em.createQuery(SUMMARY_SELECT + " where i.id = :id", ItemSummary.class)
+                .setParameter("id", id)
+                .getResultList();
+        return summaries.isEmpty() ? null : summaries.get(0);
+    }
+
+    // 검색 결과 상품 (공통 컬럼만, 순서는 검색 점수 순으로 호출하는 쪽에서 맞춤)
+    public List<ItemSummary> findSummaries(Collection<Long> ids) {
+        return em.createQuery(SUMMARY_SELECT + " where i.id in :ids", ItemSummary.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    // 주문 화면 상품 선택 (공통 컬럼만, 쿼리 캐시)
+    public List<ItemSummary> findAllSummaries() {
+        return em.createQuery(SUMMARY_SELECT + " order by i.id", ItemSummary.class)
+                .setHint(AvailableHints.HINT_CACHEABLE, true)
+                .setHint(AvailableHints.HINT_CACHE_REGION, Item.LIST_CACHE_REGION)
+                .getResultList();
+    }
+
+    // 상품 목록 (공통 컬럼만 DTO 로, 키셋 페이징)
+    public ItemSummaryPage findSummaries(ItemListSearch itemListSearch) {
+        boolean backward = itemListSearch.getBefore() != null;
+        int limit = itemListSearch.getLimit();
+
+        String jpql = SUMMARY_SELECT;
+        if (backward)
+            jpql += " where i.id < :cursor order by i.id desc";
+        else if (itemListSearch.getAfter() != null)
+            jpql += " where i.id > :cursor order by i.id asc";
+        else
+            jpql += " order by i.id asc";
+
+        TypedQuery<ItemSummary> query = em.createQuery(jpql, ItemSummary.class)
+                .setMaxResults(limit + 1); // 한건 더 조회해서 다음 페이지 존재 여부 확인
+        if (backward)
+            query.setParameter("cursor", itemListSearch.getBefore());
+        else if (itemListSearch.getAfter() != null)
+            query.setParameter("cursor", itemListSearch.getAfter());
+
+        List<ItemSummary> summaries = new ArrayList<>(query.getResultList());
+        boolean hasMore = summaries.size() > limit;
+        if (hasMore)
+            summaries.remove(limit);
+        if (backward) {
+            Collections.reverse(summaries);
+            return new ItemSummaryPage(summaries, true, hasMore);
+        }
+        return new ItemSummaryPage(summaries, hasMore, itemListSearch.getAfter() != null);
+    }
+
+    // id 순으로 조회 (여러 상품 재고 변경시 항상 같은 순서로 갱신하기 위함)
+    public List<Item> findAllById(Collection<Long> ids) {
+        return em.createQuery("select i from Item as i where i.id in :ids order by i.id", Item.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    public List<Long> findAllIds() {
+        return em.createQuery("select i.id from Item as i order by i.id", Long.class)
+                .getResultList();
+    }
+
+    // id 범위 조회 (검색 색인 재생성 chunk)
+    public List<Item> findAllByIdRange(Long fromId, Long toId) {
+        return em.createQuery("select i from Item as i where i.id between :fromId and :toId", Item.class)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                .getResultList();
+    }
+
     public List<Item> findAll() {
          return em.createQuery("select i from Item as i", Item.class)
+                 .setHint(AvailableHints.HINT_CACHEABLE, true) // 쿼리 캐시 (item 테이블 변경시 자동 무효화)
+                 .setHint(AvailableHints.HINT_CACHE_REGION, Item.LIST_CACHE_REGION)
                  .getResultList();
     }
 
+    // 2차 캐시에서 상품 / 상품 목록 제거
+    public void evictCache(Long itemId) {
+        SessionFactory sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Item.class, itemId);
+        sessionFactory.getCache().evictQueryRegion(Item.LIST_CACHE_REGION);
+    }
+
+    // 재고 증감 (읽고-쓰기 가 아니라 DB 에서 원자적으로 더함, version 도 증가)
+    public int addStockQuantity(Long itemId, int delta) {
+        return em.createQuery("update Item i set i.stockQuantity = i.stockQuantity + :delta, i.version = i.version + 1 where i.id = :itemId")
+                .setParameter("delta", delta)
+                .setParameter("itemId", itemId)
+                .executeUpdate();
+    }
+
 }
@@ -0,0 +1,30 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.item.ItemType;
+import lombok.Getter;
+
+/**
+ * 상품 목록용 (공통 컬럼 + dtype 만, 하위 타입 컬럼 / 엔티티는 읽지 않음)
+ */
+@Getter
+public class ItemSummary {
+
+    private final Long id;
+
+    private final String name;
+
+    private final int price;
+
+    private final int stockQuantity;
+
+    private final ItemType itemType;
+
+    public ItemSummary(Long id, String name, int price, int stockQuantity, Class<?> type) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.itemType = ItemType.of(type);
+    }
+
+}
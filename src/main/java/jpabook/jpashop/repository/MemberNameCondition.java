@@ -0,0 +1,53 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.Query;
+import jpabook.jpashop.domain.MemberNameTrigram;
+import org.springframework.util.StringUtils;
+
+import java.util.Set;
+
+/**
+ * 주문 검색의 회원 이름 조건 (기본은 회원이 별칭 m 으로 join 되어 있어야 함)
+ * trigram 을 사용하면 검색어의 trigram 을 모두 가진 회원으로 먼저 좁히고, LIKE 로 최종 확인. (trigram 순서까지는 보지 않기 때문)
+ */
+final class MemberNameCondition {
+
+    private static final String LIKE = "%s like :name escape '\\'";
+
+    private static final String TRIGRAM = " and %s in (select t.memberId from MemberNameTrigram t" +
+            " where t.gram in :grams group by t.memberId having count(distinct t.gram) = :gramCount)";
+
+    private MemberNameCondition() {
+    }
+
+    static boolean isPresent(OrderSearch orderSearch) {
+        return StringUtils.hasText(orderSearch.getMemberName());
+    }
+
+    // 포함 검색이면서 검색어가 trigram 보다 길 때만 사용 (짧으면 LIKE 만으로 검색)
+    static boolean useTrigram(OrderSearch orderSearch, boolean trigramEnabled) {
+        return trigramEnabled && isPresent(orderSearch)
+                && orderSearch.getNameMatch() == NameMatch.CONTAINS
+                && orderSearch.getMemberName().trim().length() >= MemberNameTrigram.GRAM_SIZE;
+    }
+
+    static String jpql(boolean trigram) {
+        return jpql(trigram, "m.name", "m.id");
+    }
+
+    // 회원을 join 하지 않고 이름 / id 를 가진 테이블 (order_summary) 에서 검색할 때
+    static String jpql(boolean trigram, String nameProperty, String memberIdProperty) {
+        String like = LIKE.formatted(nameProperty);
+        return trigram ? like + TRIGRAM.formatted(memberIdProperty) : like;
+    }
+
+    static void bind(Query query, OrderSearch orderSearch, boolean trigram) {
+        query.setParameter("name", orderSearch.getNameMatch().pattern(orderSearch.getMemberName()));
+        if (trigram) {
+            Set<String> grams = MemberNameTrigram.grams(orderSearch.getMemberName().trim());
+            query.setParameter("grams", grams);
+            query.setParameter("gramCount", (long) grams.size());
+        }
+    }
+
+}
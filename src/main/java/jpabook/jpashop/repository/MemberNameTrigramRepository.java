@@ -0,0 +1,38 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.MemberNameTrigram;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository @RequiredArgsConstructor
+public class MemberNameTrigramRepository {
+
+    private final EntityManager em;
+
+    public void saveAll(Long memberId, String name) {
+        for (String gram : MemberNameTrigram.grams(name))
+            em.persist(MemberNameTrigram.createMemberNameTrigram(gram, memberId));
+    }
+
+    public int deleteAll() {
+        return em.createQuery("delete from MemberNameTrigram t")
+                .executeUpdate();
+    }
+
+    // 인덱스 재생성용 (member_id 커서로 [id, name] 조회)
+    public List<Object[]> findMemberNames(Long afterId, int limit) {
+        return em.createQuery("select m.id, m.name from Member m where m.id > :afterId order by m.id", Object[].class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+
+}
@@ -2,9 +2,16 @@ package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jpabook.jpashop.domain.Member;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Repository @RequiredArgsConstructor
@@ -18,6 +25,10 @@ public class MemberRepository {
 
     private final EntityManager em; // 2. @PersistenceContext 말고 생성자 주입으로도 가능.
 
+    // 회원 목록 조회에 쓸 엔티티 그래프 (비우면 그래프 없이 지연 로딩 + default_batch_fetch_size)
+    @Value("${jpashop.fetch.graph.member-list:}")
+    private String memberListGraph;
+
     public void save(Member member) {
         em.persist(member);
     }
@@ -27,7 +38,74 @@ public class MemberRepository {
     }
 
     public List<Member> findAll() {
-        return em.createQuery("select m from Member as m", Member.class)
+        return findAll(memberListGraph);
+    }
+
+    public List<Member> findAll(String entityGraph) {
+        TypedQuery<Member> query = em.createQuery("select m from Member as m", Member.class);
+        if (StringUtils.hasText(entityGraph))
+            query.setHint(AvailableHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(entityGraph));
+        return query.getResultList();
+    }
+
+    // 중복 검사용, 엔티티를 만들지 않고 uk_member_name 인덱스에서 한 건만 확인
+    public boolean existsByName(String name) {
+        return !em.createQuery("select m.id from Member as m where m.name=:name", Long.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    // 유니크 제약조건 위반을 트랜잭션 커밋이 아니라 여기서 바로 확인하기 위해 flush
+    public void saveAndFlush(Member member) {
+        em.persist(member);
+        em.flush();
+    }
+
+    /**
+     * 회원 목록 키셋 페이징 (DTO 조회)
+     * 다음 페이지는 id > after 오름차순, 이전 페이지는 id < before 내림차순으로 조회 후 뒤집음.
+     */
+    public MemberSummaryPage findMemberSummaries(MemberSearch memberSearch) {
+        boolean backward = memberSearch.getBefore() != null;
+        int limit = memberSearch.getLimit();
+
+        String jpql = "select new jpabook.jpashop.repository.MemberSummaryDto(m.id, m.name, m.address.city, m.address.street, m.address.zipcode)" +
+                " from Member m";
+        if (backward)
+            jpql += " where m.id < :cursor order by m.id desc";
+        else if (memberSearch.getAfter() != null)
+            jpql += " where m.id > :cursor order by m.id asc";
+        else
+            jpql += " order by m.id asc";
+
+        TypedQuery<MemberSummaryDto> query = em.createQuery(jpql, MemberSummaryDto.class)
+                .setMaxResults(limit + 1); // 한건 더 조회해서 다음 페이지 존재 여부 확인
+        if (backward)
+            query.setParameter("cursor", memberSearch.getBefore());
+        else if (memberSearch.getAfter() != null)
+            query.setParameter("cursor", memberSearch.getAfter());
+
+        List<MemberSummaryDto> summaries = new ArrayList<>(query.getResultList());
+        boolean hasMore = summaries.size() > limit;
+        if (hasMore)
+            summaries.remove(limit);
+        if (backward) {
+            Collections.reverse(summaries);
+            return new MemberSummaryPage(summaries, true, hasMore);
+        }
+        return new MemberSummaryPage(summaries, hasMore, memberSearch.getAfter() != null);
+    }
+
+    // 주문 화면 회원 검색 (이름 앞부분 일치, uk_member_name 인덱스 범위 스캔)
+    public List<MemberSummaryDto> searchByNamePrefix(String prefix, int limit) {
+        if (!StringUtils.hasText(prefix))
+            return List.of();
+        return em.createQuery("select new jpabook.jpashop.repository.MemberSummaryDto(m.id, m.name, m.address.city, m.address.street, m.address.zipcode)" +
+                        " from Member m where m.name like :prefix escape '\\' order by m.name", MemberSummaryDto.class)
+                .setParameter("prefix", NameMatch.PREFIX.pattern(prefix))
+                .setMaxResults(limit)
                 .getResultList();
     }
 
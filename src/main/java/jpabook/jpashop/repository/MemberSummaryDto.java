@@ -0,0 +1,30 @@
+package jpabook.jpashop.repository;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 회원 목록 / 회원 검색용 DTO (Member 엔티티와 orders 컬렉션을 영속성 컨텍스트에 올리지 않음)
+ */
+@Getter @Setter
+public class MemberSummaryDto {
+
+    private Long id;
+
+    private String name;
+
+    private String city;
+
+    private String street;
+
+    private String zipcode;
+
+    public MemberSummaryDto(Long id, String name, String city, String street, String zipcode) {
+        this.id = id;
+        this.name = name;
+        this.city = city;
+        this.street = street;
+        this.zipcode = zipcode;
+    }
+
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.repository;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 회원 목록 키셋 페이징 결과
+ */
+@Getter
+public class MemberSummaryPage {
+
+    private final List<MemberSummaryDto> content;
+
+    private final boolean hasNext;
+
+    private final boolean hasPrev;
+
+    public MemberSummaryPage(List<MemberSummaryDto> content, boolean hasNext, boolean hasPrev) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.hasPrev = hasPrev;
+    }
+
+    public Long getNextCursor() {
+        return content.isEmpty() ? null : content.get(content.size() - 1).getId();
+    }
+
+    public Long getPrevCursor() {
+        return content.isEmpty() ? null : content.get(0).getId();
+    }
+
+}
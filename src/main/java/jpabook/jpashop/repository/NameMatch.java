@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository;
+
+/**
+ * 이름 검색 방식
+ * PREFIX   : 'kim%'  (인덱스 범위 스캔 가능)
+ * CONTAINS : '%kim%' (인덱스를 탈 수 없음, trigram 인덱스가 켜져 있으면 후보를 먼저 좁힘)
+ * 검색어에 들어있는 % _ \ 는 와일드카드가 아니라 문자 그대로 검색함. (JPQL 에서는 escape '\' 로 사용)
+ */
+public enum NameMatch {
+
+    PREFIX, CONTAINS;
+
+    public String pattern(String name) {
+        String escaped = escape(name.trim());
+        return this == PREFIX ? escaped + "%" : "%" + escaped + "%";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
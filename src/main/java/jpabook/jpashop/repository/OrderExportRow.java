@@ -0,0 +1,32 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 내보내기(정산용) 한 줄
+ */
+@Getter
+public class OrderExportRow {
+
+    private final Long orderId;
+
+    private final String memberName;
+
+    private final OrderStatus status;
+
+    private final LocalDateTime orderDate;
+
+    private final long totalPrice;
+
+    public OrderExportRow(Long orderId, String memberName, OrderStatus status, LocalDateTime orderDate, int totalPrice) {
+        this.orderId = orderId;
+        this.memberName = memberName;
+        this.status = status;
+        this.orderDate = orderDate;
+        this.totalPrice = totalPrice;
+    }
+
+}
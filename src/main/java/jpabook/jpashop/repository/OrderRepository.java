@@ -4,21 +4,46 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSummary;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository @RequiredArgsConstructor
 public class OrderRepository {
 
     private final EntityManager em;
 
+    // 회원 이름 포함 검색에 trigram 인덱스 사용 여부
+    @Value("${jpashop.order.search.trigram.enabled:false}")
+    private boolean trigramEnabled;
+
+    // 주문 검색에 쓸 엔티티 그래프 (비우면 그래프 없이 지연 로딩 + default_batch_fetch_size)
+    @Value("${jpashop.fetch.graph.order-search:" + Order.GRAPH_MEMBER_DELIVERY + "}")
+    private String orderSearchGraph;
+
+    // 주문 목록 read model(order_summary) 도 같은 트랜잭션에서 저장
     public void save(Order order) {
         em.persist(order);
+        em.persist(OrderSummary.of(order));
+    }
+
+    // 주문 상태가 바뀌면 read model 에도 반영
+    public void saveSummaryStatus(Order order) {
+        OrderSummary summary = em.find(OrderSummary.class, order.getId());
+        if (summary != null)
+            summary.changeStatus(order.getStatus());
     }
 
     public Order findOne(Long id) {
@@ -26,6 +51,7 @@ public class OrderRepository {
     }
 
     public List<Order> findAllByString(OrderSearch orderSearch) {
+        boolean backward = orderSearch.getBefore() != null;
         String jpql = "select o from Order o join o.member m";
         boolean isFirstCondition = true;
 
@@ -48,20 +74,61 @@ public class OrderRepository {
             } else {
                 jpql += " and";
             }
-            jpql += " m.name like :name";
+            jpql += " m.name like :name escape '\\'";
         }
 
+        // 커서 (이전 페이지 / 다음 페이지)
+        if (backward || orderSearch.getAfter() != null) {
+            if (isFirstCondition) {
+                jpql += " where";
+                isFirstCondition = false;
+            } else {
+                jpql += " and";
+            }
+            jpql += backward ? " o.id > :before" : " o.id < :after";
+        }
+        jpql += backward ? " order by o.id asc" : " order by o.id desc";
+
         TypedQuery<Order> query = em.createQuery(jpql, Order.class)
-                .setMaxResults(1000);
+                .setMaxResults(orderSearch.getLimit());
 
         if (orderSearch.getOrderStatus() != null) {
             query = query.setParameter("status", orderSearch.getOrderStatus());
         }
         if (StringUtils.hasText(orderSearch.getMemberName())) {
-            query = query.setParameter("name", orderSearch.getMemberName());
+            query = query.setParameter("name", orderSearch.getNameMatch().pattern(orderSearch.getMemberName()));
+        }
+        if (backward) {
+            query = query.setParameter("before", orderSearch.getBefore());
+        } else if (orderSearch.getAfter() != null) {
+            query = query.setParameter("after", orderSearch.getAfter());
         }
 
-        return query.getResultList();
+        return newestFirst(query.getResultList(), backward);
+    }
+
+    // 미리 등록해 둔 named query 로 검색 (쿼리 파싱 없이 파라미터만 바인딩)
+    public List<Order> findAllByNamedQuery(OrderSearch orderSearch) {
+        return findAllByNamedQuery(orderSearch, orderSearchGraph);
+    }
+
+    // 엔티티 그래프를 골라서 검색 (페이징하므로 to-one 만 담은 그래프여야 함)
+    public List<Order> findAllByNamedQuery(OrderSearch orderSearch, String entityGraph) {
+        boolean trigram = MemberNameCondition.useTrigram(orderSearch, trigramEnabled);
+        TypedQuery<Order> query = em.createNamedQuery(OrderSearchQueryRegistry.queryName(orderSearch, trigram), Order.class)
+                .setMaxResults(orderSearch.getLimit());
+        if (StringUtils.hasText(entityGraph))
+            query.setHint(AvailableHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(entityGraph));
+        if (orderSearch.getOrderStatus() != null)
+            query.setParameter("status", orderSearch.getOrderStatus());
+        if (MemberNameCondition.isPresent(orderSearch))
+            MemberNameCondition.bind(query, orderSearch, trigram);
+        boolean backward = orderSearch.getBefore() != null;
+        if (backward)
+            query.setParameter("before", orderSearch.getBefore());
+        else if (orderSearch.getAfter() != null)
+            query.setParameter("after", orderSearch.getAfter());
+        return newestFirst(query.getResultList(), backward);
     }
 
     public List<Order> findAllByCriteria(OrderSearch orderSearch) {
@@ -79,12 +146,139 @@ public class OrderRepository {
         }
         // 회원 이름 검색
         if (StringUtils.hasText(orderSearch.getMemberName())) {
-            Predicate name = cb.like(member.<String>get("name"), "%" + orderSearch.getMemberName() + "%");
+            Predicate name = cb.like(member.<String>get("name"), orderSearch.getNameMatch().pattern(orderSearch.getMemberName()), '\\');
             criteria.add(name);
         }
+        // 커서 (이전 페이지 / 다음 페이지)
+        boolean backward = orderSearch.getBefore() != null;
+        if (backward) {
+            Predicate before = cb.greaterThan(o.get("id"), orderSearch.getBefore());
+            criteria.add(before);
+        } else if (orderSearch.getAfter() != null) {
+            Predicate after = cb.lessThan(o.get("id"), orderSearch.getAfter());
+            criteria.add(after);
+        }
         cq.where(cb.and(criteria.toArray(new Predicate[criteria.size()])));
-        TypedQuery<Order> query = em.createQuery(cq).setMaxResults(1000);
-        return query.getResultList();
+        cq.orderBy(backward ? cb.asc(o.get("id")) : cb.desc(o.get("id")));
+        TypedQuery<Order> query = em.createQuery(cq).setMaxResults(orderSearch.getLimit());
+        return newestFirst(query.getResultList(), backward);
+    }
+
+    // 이전 페이지는 커서 바로 다음(최신) 주문부터 오름차순으로 읽었으니 다른 페이지처럼 최신 주문이 먼저 오도록 뒤집음
+    private List<Order> newestFirst(List<Order> orders, boolean backward) {
+        if (!backward)
+            return orders;
+        List<Order> reversed = new ArrayList<>(orders);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    /**
+     * 주문 목록 화면용 조회 (키셋 페이징)
+     * 1. 주문 + 회원(to-one) 을 join 하여 DTO 로 한번에 조회
+     * 2. 대표상품 정보는 조회된 주문 id 들로 in 쿼리 한번에 조회
+     * --> 주문 건수(N) 와 상관없이 쿼리 2번
+     * offset 대신 order_id 커서로 seek 하기 때문에 뒤쪽 페이지도 조회 비용이 같음.
+     */
+    public OrderSummaryPage findOrderSummaries(OrderSearch orderSearch) {
+        boolean backward = orderSearch.getBefore() != null;
+        int limit = orderSearch.getLimit();
+        boolean trigram = MemberNameCondition.useTrigram(orderSearch, trigramEnabled);
+
+        List<String> conditions = new ArrayList<>();
+        if (orderSearch.getOrderStatus() != null)
+            conditions.add("s.status = :status");
+        if (MemberNameCondition.isPresent(orderSearch))
+            conditions.add(MemberNameCondition.jpql(trigram, "s.memberName", "s.memberId"));
+        if (orderSearch.getFromDate() != null)
+            conditions.add("s.orderDate >= :fromDate");
+        if (orderSearch.getToDate() != null)
+            conditions.add("s.orderDate < :toDate");
+        if (backward)
+            conditions.add("s.orderId > :cursor");
+        else if (orderSearch.getAfter() != null)
+            conditions.add("s.orderId < :cursor");
+
+        // order_summary 한 테이블만 읽음 (회원 / 주문상품 join 없음)
+        String jpql = "select new jpabook.jpashop.repository.OrderSummaryDto(s.orderId, s.memberName, s.status, s.orderDate," +
+                " s.itemName, s.totalPrice, s.itemCount)" +
+                " from OrderSummary s";
+        if (!conditions.isEmpty())
+            jpql += " where " + String.join(" and ", conditions);
+        jpql += backward ? " order by s.orderId asc" : " order by s.orderId desc";
+
+        TypedQuery<OrderSummaryDto> query = em.createQuery(jpql, OrderSummaryDto.class)
+                .setMaxResults(limit + 1); // 한건 더 조회해서 다음 페이지 존재 여부 확인
+        if (orderSearch.getOrderStatus() != null)
+            query.setParameter("status", orderSearch.getOrderStatus());
+        if (MemberNameCondition.isPresent(orderSearch))
+            MemberNameCondition.bind(query, orderSearch, trigram);
+        if (orderSearch.getFromDate() != null)
+            query.setParameter("fromDate", orderSearch.getFromDate().atStartOfDay());
+        if (orderSearch.getToDate() != null)
+            query.setParameter("toDate", orderSearch.getToDate().plusDays(1).atStartOfDay());
+        if (backward)
+            query.setParameter("cursor", orderSearch.getBefore());
+        else if (orderSearch.getAfter() != null)
+            query.setParameter("cursor", orderSearch.getAfter());
+
+        List<OrderSummaryDto> summaries = new ArrayList<>(query.getResultList());
+        boolean hasMore = summaries.size() > limit;
+        if (hasMore)
+            summaries.remove(limit);
+        if (backward)
+            Collections.reverse(summaries);
+
+        if (backward)
+            return new OrderSummaryPage(summaries, true, hasMore);
+        return new OrderSummaryPage(summaries, hasMore, orderSearch.getAfter() != null);
+    }
+
+    /**
+     * 주문 내보내기용 스트리밍 조회
+     * 결과를 List 로 만들지 않고 forward-only 커서로 한 줄씩 넘김.
+     * DTO 조회라 영속성 컨텍스트에 쌓이는 것은 없지만, fetchSize 마다 clear 해서 메모리를 일정하게 유지.
+     */
+    public void scrollForExport(OrderSearch orderSearch, int fetchSize, Consumer<OrderExportRow> consumer) {
+        boolean trigram = MemberNameCondition.useTrigram(orderSearch, trigramEnabled);
+        List<String> conditions = new ArrayList<>();
+        if (orderSearch.getOrderStatus() != null)
+            conditions.add("o.status = :status");
+        if (MemberNameCondition.isPresent(orderSearch))
+            conditions.add(MemberNameCondition.jpql(trigram));
+        if (orderSearch.getFromDate() != null)
+            conditions.add("o.orderDate >= :fromDate");
+        if (orderSearch.getToDate() != null)
+            conditions.add("o.orderDate < :toDate");
+
+        String jpql = "select new jpabook.jpashop.repository.OrderExportRow(o.id, m.name, o.status, o.orderDate, o.totalPrice)" +
+                " from Order o join o.member m";
+        if (!conditions.isEmpty())
+            jpql += " where " + String.join(" and ", conditions);
+        jpql += " order by o.id";
+
+        Query<OrderExportRow> query = em.createQuery(jpql, OrderExportRow.class)
+                .unwrap(Query.class);
+        if (orderSearch.getOrderStatus() != null)
+            query.setParameter("status", orderSearch.getOrderStatus());
+        if (MemberNameCondition.isPresent(orderSearch))
+            MemberNameCondition.bind(query, orderSearch, trigram);
+        if (orderSearch.getFromDate() != null)
+            query.setParameter("fromDate", orderSearch.getFromDate().atStartOfDay());
+        if (orderSearch.getToDate() != null)
+            query.setParameter("toDate", orderSearch.getToDate().plusDays(1).atStartOfDay());
+
+        try (ScrollableResults<OrderExportRow> results = query
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            int count = 0;
+            while (results.next()) {
+                consumer.accept(results.get());
+                if (++count % fetchSize == 0)
+                    em.clear();
+            }
+        }
     }
 
 }
@@ -3,13 +3,45 @@ package jpabook.jpashop.repository;
 import jpabook.jpashop.domain.OrderStatus;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
 
 @Getter @Setter
 public class OrderSearch {
 
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 100;
+
     private String memberName;
 
+    private NameMatch nameMatch = NameMatch.PREFIX;
+
     private OrderStatus orderStatus;
 
+    // 주문일 범위 (toDate 포함)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fromDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate toDate;
+
+    // 키셋 페이징 커서 (order_id 는 주문일시 순으로 증가)
+    private Long after;     // 다음 페이지: 이 주문 id 보다 작은(오래된) 주문
+
+    private Long before;    // 이전 페이지: 이 주문 id 보다 큰(최신) 주문
+
+    private int size = DEFAULT_SIZE;
+
+    public NameMatch getNameMatch() {
+        return nameMatch == null ? NameMatch.PREFIX : nameMatch;
+    }
+
+    public int getLimit() {
+        if (size <= 0)
+            return DEFAULT_SIZE;
+        return Math.min(size, MAX_SIZE);
+    }
 
 }
@@ -0,0 +1,89 @@
+package jpabook.jpashop.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 검색 named query 등록
+ * 검색 조건(상태 유무, 커서 없음 / 다음 페이지 / 이전 페이지, 회원 이름 없음 / LIKE / LIKE + trigram) 으로 쿼리 모양이 정해지기 때문에 2 * 3 * 3 = 18개만 미리 만들어 둠.
+ * 애플리케이션 시작 시 한번만 파싱 / 검증하고, 조회할 때는 이름으로 꺼내서 파라미터만 바인딩.
+ */
+@Component @RequiredArgsConstructor
+public class OrderSearchQueryRegistry {
+
+    private static final String PREFIX = "Order.search.";
+
+    private static final int STATUS = 1;
+
+    private static final int AFTER = 1 << 1;                // 다음 페이지 (id 내림차순)
+
+    private static final int BEFORE = 2 << 1;               // 이전 페이지 (id 오름차순으로 읽고 뒤집음)
+
+    private static final int CURSOR = 3 << 1;
+
+    private static final int MEMBER_NAME = 1 << 3;          // 회원 이름 LIKE
+
+    private static final int MEMBER_NAME_TRIGRAM = 2 << 3;  // 회원 이름 LIKE + trigram
+
+    private static final int SHAPES = 3 << 3;
+
+    private final EntityManagerFactory emf;
+
+    @PostConstruct
+    public void register() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            for (int shape = 0; shape < SHAPES; shape++) {
+                if ((shape & CURSOR) == CURSOR) // 다음 / 이전 페이지 커서를 같이 쓰는 모양은 없음
+                    continue;
+                emf.addNamedQuery(PREFIX + shape, em.createQuery(jpql(shape), Order.class));
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    public static String queryName(OrderSearch orderSearch, boolean trigram) {
+        return PREFIX + shapeOf(orderSearch, trigram);
+    }
+
+    static int shapeOf(OrderSearch orderSearch, boolean trigram) {
+        int shape = 0;
+        if (orderSearch.getOrderStatus() != null)
+            shape |= STATUS;
+        if (orderSearch.getBefore() != null)     // 둘 다 있으면 이전 페이지 (findOrderSummaries 와 같음)
+            shape |= BEFORE;
+        else if (orderSearch.getAfter() != null)
+            shape |= AFTER;
+        if (MemberNameCondition.isPresent(orderSearch))
+            shape |= trigram ? MEMBER_NAME_TRIGRAM : MEMBER_NAME;
+        return shape;
+    }
+
+    static String jpql(int shape) {
+        List<String> conditions = new ArrayList<>();
+        if ((shape & STATUS) != 0)
+            conditions.add("o.status = :status");
+        if ((shape & MEMBER_NAME_TRIGRAM) == MEMBER_NAME_TRIGRAM)
+            conditions.add(MemberNameCondition.jpql(true));
+        else if ((shape & MEMBER_NAME) != 0)
+            conditions.add(MemberNameCondition.jpql(false));
+        if ((shape & CURSOR) == AFTER)
+            conditions.add("o.id < :after");
+        else if ((shape & CURSOR) == BEFORE)
+            conditions.add("o.id > :before");
+
+        String jpql = "select o from Order o join o.member m";
+        if (!conditions.isEmpty())
+            jpql += " where " + String.join(" and ", conditions);
+        return jpql + ((shape & CURSOR) == BEFORE ? " order by o.id asc" : " order by o.id desc");
+    }
+
+}
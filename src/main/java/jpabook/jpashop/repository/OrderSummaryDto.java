@@ -0,0 +1,40 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 화면용 평면(flat) 조회 DTO (order_summary read model 에서 조회)
+ */
+@Getter @Setter
+public class OrderSummaryDto {
+
+    private Long orderId;
+
+    private String memberName;
+
+    private OrderStatus status;
+
+    private LocalDateTime orderDate;
+
+    private String itemName;
+
+    private int totalPrice;
+
+    private int itemCount;
+
+    public OrderSummaryDto(Long orderId, String memberName, OrderStatus status, LocalDateTime orderDate,
+                           String itemName, int totalPrice, int itemCount) {
+        this.orderId = orderId;
+        this.memberName = memberName;
+        this.status = status;
+        this.orderDate = orderDate;
+        this.itemName = itemName;
+        this.totalPrice = totalPrice;
+        this.itemCount = itemCount;
+    }
+
+}
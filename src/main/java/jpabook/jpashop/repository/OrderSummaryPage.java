@@ -0,0 +1,34 @@
+package jpabook.jpashop.repository;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 주문 목록 키셋 페이징 결과
+ * 다음/이전 페이지는 offset 이 아니라 경계 주문 id(커서) 로 이동함.
+ */
+@Getter
+public class OrderSummaryPage {
+
+    private final List<OrderSummaryDto> content;
+
+    private final boolean hasNext;
+
+    private final boolean hasPrev;
+
+    public OrderSummaryPage(List<OrderSummaryDto> content, boolean hasNext, boolean hasPrev) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.hasPrev = hasPrev;
+    }
+
+    public Long getNextCursor() {
+        return content.isEmpty() ? null : content.get(content.size() - 1).getOrderId();
+    }
+
+    public Long getPrevCursor() {
+        return content.isEmpty() ? null : content.get(0).getOrderId();
+    }
+
+}
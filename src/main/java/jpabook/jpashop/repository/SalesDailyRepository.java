@@ -0,0 +1,49 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.SalesDaily;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository @RequiredArgsConstructor
+public class SalesDailyRepository {
+
+    private final EntityManager em;
+
+    public void save(SalesDaily salesDaily) {
+        em.persist(salesDaily);
+    }
+
+    public List<SalesDaily> findAll() {
+        return em.createQuery("select s from SalesDaily s", SalesDaily.class)
+                .getResultList();
+    }
+
+    public List<SalesDaily> findBySalesDates(Collection<LocalDate> salesDates) {
+        return em.createQuery("select s from SalesDaily s where s.salesDate in :salesDates", SalesDaily.class)
+                .setParameter("salesDates", salesDates)
+                .getResultList();
+    }
+
+    public int deleteAll() {
+        return em.createQuery("delete from SalesDaily s")
+                .executeUpdate();
+    }
+
+    /**
+     * 주문상품 전체를 상품 / 일자 / 주문상태로 group by 한번에 집계 (엔티티를 만들지 않음)
+     * [itemId, salesDate, status, quantity, revenue]
+     */
+    public List<Object[]> aggregateOrderItems() {
+        return em.createQuery(
+                        "select oi.item.id, cast(o.orderDate as LocalDate), o.status, sum(oi.count), sum(oi.orderPrice * oi.count)" +
+                                " from OrderItem oi join oi.order o" +
+                                " group by oi.item.id, cast(o.orderDate as LocalDate), o.status", Object[].class)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,43 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.StockJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository @RequiredArgsConstructor
+public class StockJournalRepository {
+
+    private final EntityManager em;
+
+    public void save(StockJournal stockJournal) {
+        em.persist(stockJournal);
+    }
+
+    /**
+     * 예약 가능 재고 = 상품 재고 + 아직 반영되지 않은 저널 합계 (SQL 한번으로 같은 시점에 읽음)
+     * 따로 읽으면 그 사이에 flush 가 커밋될 경우 반영된 저널이 합계에서 빠지고 재고에는 아직 없어서 재고가 많게 계산됨
+     */
+    public int findAvailableStock(Long itemId) {
+        Number stock = em.createQuery("select i.stockQuantity + coalesce((select sum(j.delta) from StockJournal j where j.itemId = i.id), 0)" +
+                        " from Item i where i.id = :itemId", Number.class)
+                .setParameter("itemId", itemId)
+                .getSingleResult();
+        return stock.intValue();
+    }
+
+    public List<StockJournal> findOldest(int limit) {
+        return em.createQuery("select j from StockJournal j order by j.id", StockJournal.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public int deleteAll(List<Long> ids) {
+        return em.createQuery("delete from StockJournal j where j.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+}
@@ -0,0 +1,126 @@
+package jpabook.jpashop.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.config.VirtualThreads;
+import jpabook.jpashop.exception.OrderQueueFullException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 주문 접수
+ * 1. 주문을 크기가 정해진 대기열에 넣고 접수표를 바로 반환 (대기열이 가득 차면 OrderQueueFullException --> 429)
+ * 2. 디스패처 스레드가 대기열에서 꺼내서 워커(가상 스레드, Java 21 미만이면 플랫폼 스레드) 에게 넘김
+ * 3. 동시에 DB 로 가는 주문 트랜잭션 수는 concurrency 로 제한 (커넥션 풀이 워커 수만큼 고갈되지 않도록)
+ */
+@Slf4j
+@Service
+public class AsyncOrderService {
+
+    private final OrderService orderService;
+
+    private final BlockingQueue<OrderTicket> queue;
+
+    private final Semaphore permits;
+
+    private final long retentionSeconds;
+
+    private final Map<String, OrderTicket> tickets = new ConcurrentHashMap<>();
+
+    private final ExecutorService workers = VirtualThreads.newThreadPerTaskExecutor("order-worker-");
+
+    private Thread dispatcher;
+
+    public AsyncOrderService(OrderService orderService,
+                             @Value("${jpashop.order.async.queue-capacity:1000}") int queueCapacity,
+                             @Value("${jpashop.order.async.concurrency:8}") int concurrency,
+                             @Value("${jpashop.order.async.ticket-retention-seconds:600}") long retentionSeconds) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.permits = new Semaphore(concurrency);
+        this.retentionSeconds = retentionSeconds;
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new Thread(this::dispatch, "order-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        dispatcher.interrupt();
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS))
+            log.warn("order workers did not finish in time. queued={}", queue.size());
+    }
+
+    public OrderTicket submit(Long memberId, List<OrderLine> orderLines) {
+        OrderTicket ticket = new OrderTicket(memberId, orderLines);
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.getTicketId());
+            throw new OrderQueueFullException("주문 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        return ticket;
+    }
+
+    public OrderTicket findTicket(String ticketId) {
+        return tickets.get(ticketId);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                OrderTicket ticket = queue.take();
+                permits.acquire();  // DB 동시 처리 수 제한, 가득 차면 대기열에서 더 꺼내지 않음
+                try {
+                    workers.execute(() -> process(ticket));
+                } catch (RuntimeException e) {
+                    permits.release();
+                    ticket.failed("주문 처리를 시작하지 못했습니다.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process(OrderTicket ticket) {
+        try {
+            ticket.processing();
+            Long orderId = orderService.order(ticket.getMemberId(), ticket.getOrderLines());
+            ticket.completed(orderId);
+        } catch (RuntimeException e) {
+            log.debug("async order failed. ticket={}", ticket.getTicketId(), e);
+            ticket.failed(e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    // 처리가 끝난 지 오래된 접수표 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredTickets() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusSeconds(retentionSeconds);
+        tickets.values().removeIf(ticket -> ticket.isDone() && ticket.getCompletedDate().isBefore(expiredBefore));
+    }
+
+}
@@ -0,0 +1,116 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.CategoryRepository;
+import jpabook.jpashop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Service @RequiredArgsConstructor @Transactional(readOnly = true)
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jpashop.datasource.routing.enabled:false}")
+    private boolean replicaRouting;
+
+    private volatile CategoryTree tree; // null 이면 다음 조회 때 다시 적재
+
+    private long treeVersion; // 적재 도중 변경이 커밋되면 적재한 트리를 버림
+
+    // 카테고리 생성 (parentId 가 없으면 최상위)
+    @Transactional
+    public Long createCategory(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        if (parentId != null) {
+            Category parent = categoryRepository.findOne(parentId);
+            if (parent == null)
+                throw new IllegalArgumentException("존재하지 않는 카테고리입니다.");
+            parent.addChildCategory(category);
+        }
+        categoryRepository.save(category); // 부모 경로 + 자기 id 로 경로 계산
+        refreshTreeAfterCommit();
+        return category.getId();
+    }
+
+    @Transactional
+    public void addItem(Long categoryId, Long itemId) {
+        Category category = categoryRepository.findOne(categoryId);
+        Item item = itemRepository.findOne(itemId);
+        if (category == null || item == null)
+            throw new IllegalArgumentException("존재하지 않는 카테고리 / 상품입니다.");
+        category.getItems().add(item);
+        item.getCategories().add(category);
+    }
+
+    // 트리를 다시 적재할 때 주 DB 트랜잭션이 하나만 열리도록 읽기 전용 트랜잭션을 시작하지 않음 (loadTree)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CategoryTree getTree() {
+        CategoryTree current = tree;
+        if (current != null)
+            return current;
+        long version;
+        synchronized (this) {
+            version = treeVersion;
+        }
+        current = loadTree();
+        synchronized (this) {
+            if (version == treeVersion)
+                tree = current;
+        }
+        return current;
+    }
+
+    // 복제본 라우팅을 켜면 읽기 전용 트랜잭션은 복제본으로 갈 수 있어서 쓰기 트랜잭션(주 DB) 에서 적재 (복제 지연 중인 트리가 계속 남지 않도록)
+    // 이미 읽기 전용 트랜잭션 안이면(findItems) 그 트랜잭션과 별도로(REQUIRES_NEW), 아니면 쓰기 트랜잭션에 참여하거나 새로 시작
+    // 라우팅을 끄면 모든 트랜잭션이 주 DB 라서 현재 트랜잭션에서 그대로 적재
+    private CategoryTree loadTree() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        if (replicaRouting) {
+            template.setReadOnly(false);
+            if (TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+                template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            template.setReadOnly(true);
+        }
+        return template.execute(status -> CategoryTree.of(categoryRepository.findAllOrderByPath()));
+    }
+
+    // 하위 카테고리까지 포함한 상품 (경로는 스냅샷에서 꺼내고 DB 는 쿼리 한번)
+    public List<Item> findItems(Long categoryId) {
+        CategoryTree.Node node = getTree().find(categoryId);
+        if (node == null)
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다.");
+        return categoryRepository.findItemsInSubtree(node.getPath());
+    }
+
+    // 커밋 전에 비우면 다른 요청이 커밋 전 트리로 다시 채울 수 있어 커밋 후 비움
+    private void refreshTreeAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (CategoryService.this) {
+                    treeVersion++;
+                    tree = null;
+                }
+            }
+        });
+    }
+
+}
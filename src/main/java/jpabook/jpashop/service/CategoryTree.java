@@ -0,0 +1,92 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jpabook.jpashop.domain.Category;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카테고리 트리 스냅샷 (읽기 전용, 카테고리가 바뀌면 통째로 다시 만듦)
+ * 트리 탐색 / 경로 조회는 DB 없이 메모리에서
+ */
+public class CategoryTree {
+
+    private final List<Node> roots;
+
+    private final Map<Long, Node> nodes;
+
+    private CategoryTree(List<Node> roots, Map<Long, Node> nodes) {
+        this.roots = roots;
+        this.nodes = nodes;
+    }
+
+    // categories 는 경로 순 정렬 (부모가 자식보다 먼저)
+    public static CategoryTree of(List<Category> categories) {
+        Map<Long, List<Category>> childrenOf = new HashMap<>();
+        List<Category> rootCategories = new ArrayList<>();
+        for (Category category : categories) {
+            if (category.getParent() == null)
+                rootCategories.add(category);
+            else // 프록시라도 id 는 초기화 없이 꺼낼 수 있음
+                childrenOf.computeIfAbsent(category.getParent().getId(), k -> new ArrayList<>()).add(category);
+        }
+
+        Map<Long, Node> nodes = new LinkedHashMap<>();
+        List<Node> roots = new ArrayList<>();
+        for (Category root : rootCategories)
+            roots.add(build(root, childrenOf, nodes));
+        return new CategoryTree(Collections.unmodifiableList(roots), Collections.unmodifiableMap(nodes));
+    }
+
+    private static Node build(Category category, Map<Long, List<Category>> childrenOf, Map<Long, Node> nodes) {
+        List<Node> children = new ArrayList<>();
+        for (Category child : childrenOf.getOrDefault(category.getId(), Collections.emptyList()))
+            children.add(build(child, childrenOf, nodes));
+        Node node = new Node(category.getId(), category.getName(), category.getPath(), category.getDepth(), Collections.unmodifiableList(children));
+        nodes.put(node.getId(), node);
+        return node;
+    }
+
+    public List<Node> getRoots() {
+        return roots;
+    }
+
+    public Node find(Long categoryId) {
+        return nodes.get(categoryId);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    @Getter
+    public static class Node {
+
+        private final Long id;
+
+        private final String name;
+
+        @JsonIgnore
+        private final String path;
+
+        private final int depth;
+
+        private final List<Node> children;
+
+        private Node(Long id, String name, String path, int depth, List<Node> children) {
+            this.id = id;
+            this.name = name;
+            this.path = path;
+            this.depth = depth;
+            this.children = children;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.hibernate.Hibernate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 검색 색인에 들어가는 상품 한 건 (엔티티에서 값만 복사, 색인은 엔티티를 들고 있지 않음)
+ * terms : term --> 가중치 (상품명 3, 저자 / isbn / 아티스트 / 감독 / 배우 1)
+ */
+public record ItemDocument(Long itemId, long version, String name, int price, Map<String, Integer> terms) {
+
+    static final int NAME_WEIGHT = 3;
+
+    static final int FIELD_WEIGHT = 1;
+
+    public static ItemDocument of(Item item) {
+        Item entity = (Item) Hibernate.unproxy(item);
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, entity.getName(), NAME_WEIGHT);
+        if (entity instanceof Book book) {
+            addTerms(terms, book.getAuthor(), FIELD_WEIGHT);
+            addTerms(terms, book.getIsbn(), FIELD_WEIGHT);
+            if (book.getIsbn() != null) // "978-89-..." 를 붙여서도 검색
+                addTerms(terms, book.getIsbn().replace("-", ""), FIELD_WEIGHT);
+        } else if (entity instanceof Album album) {
+            addTerms(terms, album.getArtist(), FIELD_WEIGHT);
+        } else if (entity instanceof Movie movie) {
+            addTerms(terms, movie.getDirector(), FIELD_WEIGHT);
+            addTerms(terms, movie.getActor(), FIELD_WEIGHT);
+        }
+        long version = entity.getVersion() == null ? 0 : entity.getVersion();
+        return new ItemDocument(entity.getId(), version, entity.getName(), entity.getPrice(), Collections.unmodifiableMap(terms));
+    }
+
+    // 소문자로 바꾸고 글자 / 숫자가 아닌 문자에서 자름
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : tokenize(text))
+            terms.merge(token, weight, Math::max);
+    }
+
+}
@@ -0,0 +1,6 @@
+package jpabook.jpashop.service;
+
+public enum ItemImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,62 @@
+package jpabook.jpashop.service;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 일괄 등록 결과 (처리량, 실패한 줄)
+ */
+@Getter
+public class ItemImportResult {
+
+    // 실패 상세는 이 건수까지만 보관 (실패 건수는 모두 집계)
+    private static final int MAX_FAILURES = 1000;
+
+    private int totalRows;
+
+    private int importedRows;
+
+    private int failedRows;
+
+    private long elapsedMillis;
+
+    private final List<Failure> failures = new ArrayList<>();
+
+    void addRow() {
+        totalRows++;
+    }
+
+    void addImported(int count) {
+        importedRows += count;
+    }
+
+    void addFailure(long line, String message) {
+        failedRows++;
+        if (failures.size() < MAX_FAILURES)
+            failures.add(new Failure(line, message));
+    }
+
+    void finish(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? importedRows : importedRows * 1000L / elapsedMillis;
+    }
+
+    @Getter
+    public static class Failure {
+
+        private final long line;
+
+        private final String message;
+
+        public Failure(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import jpabook.jpashop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 일괄 등록 (CSV / NDJSON)
+ * 1. 입력을 한 줄씩 읽어서 chunk 단위로 모음 (전체를 메모리에 올리지 않음)
+ * 2. chunk 마다 트랜잭션 하나로 persist --> flush --> clear
+ * 3. chunk 가 실패하면 그 chunk 만 한 건씩 다시 저장해서 실패한 줄을 골라냄 (전체 작업은 계속 진행)
+ * 컬럼 : dtype(B/A/M), name, price, stockQuantity, author, isbn, artist, etc, director, actor
+ */
+@Service @Slf4j @RequiredArgsConstructor
+public class ItemImportService {
+
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    private final ItemRepository itemRepository;
+
+    private final ItemSearchService itemSearchService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${jpashop.item.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ItemImportResult importItems(Reader reader, ItemImportFormat format) throws IOException {
+        long start = System.currentTimeMillis();
+        ItemImportResult result = new ItemImportResult();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String[] header = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            lineNumber++;
+            if (!StringUtils.hasText(line))
+                continue;
+            if (format == ItemImportFormat.CSV && header == null) {
+                header = parseCsvLine(line).toArray(new String[0]);
+                continue;
+            }
+
+            result.addRow();
+            try {
+                Map<String, String> values = format == ItemImportFormat.CSV ? toMap(header, parseCsvLine(line)) : parseJsonLine(line);
+                chunk.add(new ImportRow(lineNumber, createItem(values)));
+            } catch (RuntimeException e) {
+                result.addFailure(lineNumber, e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                saveChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            saveChunk(chunk, result);
+
+        result.finish(System.currentTimeMillis() - start);
+        log.info("item import finished. total={}, imported={}, failed={}, rows/s={}",
+                result.getTotalRows(), result.getImportedRows(), result.getFailedRows(), result.getRowsPerSecond());
+        return result;
+    }
+
+    private void saveChunk(List<ImportRow> chunk, ItemImportResult result) {
+        List<Item> items = chunk.stream().map(ImportRow::item).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> itemRepository.persistAll(items));
+            itemSearchService.index(items); // 커밋된 chunk 만 색인
+            result.addImported(items.size());
+        } catch (RuntimeException e) {
+            // chunk 안의 어떤 줄이 실패했는지 모르기 때문에 한 건씩 다시 시도
+            log.warn("item import chunk failed, retrying row by row. size={}", chunk.size(), e);
+            for (ImportRow row : chunk)
+                saveRow(row, result);
+        }
+    }
+
+    private void saveRow(ImportRow row, ItemImportResult result) {
+        // 롤백된 chunk 에서 할당된 id / version 제거
+        row.item().setId(null);
+        row.item().setVersion(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> itemRepository.persistAll(List.of(row.item())));
+            itemSearchService.index(List.of(row.item()));
+            result.addImported(1);
+        } catch (RuntimeException e) {
+            result.addFailure(row.line(), e.getMessage());
+        }
+    }
+
+    private Item createItem(Map<String, String> values) {
+        String dtype = values.get("dtype");
+        Item item;
+        if ("B".equals(dtype)) {
+            Book book = new Book();
+            book.setAuthor(values.get("author"));
+            book.setIsbn(values.get("isbn"));
+            item = book;
+        } else if ("A".equals(dtype)) {
+            Album album = new Album();
+            album.setArtist(values.get("artist"));
+            album.setEtc(values.get("etc"));
+            item = album;
+        } else if ("M".equals(dtype)) {
+            Movie movie = new Movie();
+            movie.setDirector(values.get("director"));
+            movie.setActor(values.get("actor"));
+            item = movie;
+        } else {
+            throw new IllegalArgumentException("알 수 없는 상품 종류입니다. dtype=" + dtype);
+        }
+
+        if (!StringUtils.hasText(values.get("name")))
+            throw new IllegalArgumentException("상품명은 필수입니다.");
+        item.setName(values.get("name"));
+        item.setPrice(parseNonNegative(values, "price"));
+        item.setStockQuantity(parseNonNegative(values, "stockQuantity"));
+        return item;
+    }
+
+    private int parseNonNegative(Map<String, String> values, String column) {
+        String value = values.get(column);
+        try {
+            int number = Integer.parseInt(value == null ? "" : value.trim());
+            if (number < 0)
+                throw new IllegalArgumentException(column + " 는 0 이상이어야 합니다.");
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 는 숫자여야 합니다. value=" + value);
+        }
+    }
+
+    private Map<String, String> parseJsonLine(String line) {
+        try {
+            Map<String, String> values = new HashMap<>();
+            objectMapper.readValue(line, ROW_TYPE)
+                    .forEach((key, value) -> values.put(key, value == null ? null : value.toString()));
+            return values;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+        }
+    }
+
+    private Map<String, String> toMap(String[] header, List<String> columns) {
+        if (columns.size() > header.length)
+            throw new IllegalArgumentException("컬럼 수가 헤더보다 많습니다.");
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++)
+            values.put(header[i].trim(), columns.get(i));
+        return values;
+    }
+
+    // 따옴표로 감싼 값("a,b", "say ""hi""") 을 지원하는 한 줄 CSV 파싱
+    private List<String> parseCsvLine(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private record ImportRow(long line, Item item) {
+    }
+
+}
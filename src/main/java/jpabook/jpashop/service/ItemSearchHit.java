@@ -0,0 +1,23 @@
+package jpabook.jpashop.service;
+
+import lombok.Getter;
+
+@Getter
+public class ItemSearchHit {
+
+    private final Long itemId;
+
+    private final String name;
+
+    private final int price;
+
+    private final double score;
+
+    public ItemSearchHit(Long itemId, String name, int price, double score) {
+        this.itemId = itemId;
+        this.name = name;
+        this.price = price;
+        this.score = score;
+    }
+
+}
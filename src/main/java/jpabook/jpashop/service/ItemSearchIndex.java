@@ -0,0 +1,116 @@
+package jpabook.jpashop.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 상품 검색 역색인 (메모리)
+ * 1. term --> (상품 id --> 가중치), term 사전이 정렬되어 있어서 앞부분 일치도 범위 조회 한번
+ * 2. 점수 = 검색어마다 가중치 * idf 합 (앞부분만 일치하면 절반), 모든 검색어가 일치하는 상품만
+ * 쓰기는 상품 단위로 직렬화, 읽기는 잠금 없음 (갱신 중인 상품은 이전 / 이후 값 중 하나로 보일 수 있음)
+ */
+public class ItemSearchIndex {
+
+    // 이보다 짧은 검색어는 앞부분 일치를 하지 않음 (한 글자로 사전 전체를 훑지 않도록)
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private static final Comparator<Map.Entry<Long, Double>> RANK =
+            Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, ItemDocument> documents = new ConcurrentHashMap<>();
+
+    // 이미 더 최신 version 이 색인되어 있으면 무시 (재생성 중 읽은 이전 값이 커밋된 변경을 덮지 않도록)
+    public synchronized boolean put(ItemDocument document) {
+        ItemDocument previous = documents.get(document.itemId());
+        if (previous != null) {
+            if (previous.version() > document.version())
+                return false;
+            removePostings(previous);
+        }
+        documents.put(document.itemId(), document);
+        document.terms().forEach((term, weight) ->
+                postings.computeIfAbsent(term, k -> new ConcurrentHashMap<>()).put(document.itemId(), weight));
+        return true;
+    }
+
+    public ItemSearchResult search(String query, int page, int size) {
+        Map<Long, Double> scores = null;
+        for (String term : new LinkedHashSet<>(ItemDocument.tokenize(query))) {
+            Map<Long, Double> termScores = score(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((itemId, score) -> score + termScores.get(itemId));
+            }
+            if (scores.isEmpty())
+                break;
+        }
+        if (scores == null || scores.isEmpty())
+            return new ItemSearchResult(0, page, size, Collections.emptyList());
+
+        // 요청한 페이지까지만 힙에 유지 (전체 정렬하지 않음)
+        int limit = (int) Math.min((long) (page + 1) * size, scores.size());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1, RANK);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit)
+                top.poll();
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(RANK.reversed());
+
+        List<ItemSearchHit> hits = new ArrayList<>();
+        for (int i = page * size; i < ranked.size(); i++) {
+            ItemDocument document = documents.get(ranked.get(i).getKey());
+            if (document != null)
+                hits.add(new ItemSearchHit(document.itemId(), document.name(), document.price(), ranked.get(i).getValue()));
+        }
+        return new ItemSearchResult(scores.size(), page, size, hits);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // 검색어 하나에 대한 상품별 점수 (여러 term 이 일치하면 가장 높은 것)
+    private Map<Long, Double> score(String term) {
+        Map<Long, Double> termScores = new HashMap<>();
+        ConcurrentNavigableMap<String, Map<Long, Integer>> matches = term.length() < MIN_PREFIX_LENGTH
+                ? postings.subMap(term, true, term, true)
+                : postings.subMap(term, true, term + Character.MAX_VALUE, true);
+        int documentCount = Math.max(1, documents.size());
+        for (Map.Entry<String, Map<Long, Integer>> match : matches.entrySet()) {
+            Map<Long, Integer> posting = match.getValue();
+            double idf = Math.log(1 + (double) documentCount / Math.max(1, posting.size()));
+            double factor = match.getKey().equals(term) ? 1 : PREFIX_MATCH_FACTOR;
+            posting.forEach((itemId, weight) -> termScores.merge(itemId, weight * idf * factor, Math::max));
+        }
+        return termScores;
+    }
+
+    private void removePostings(ItemDocument document) {
+        for (String term : document.terms().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null)
+                continue;
+            posting.remove(document.itemId());
+            if (posting.isEmpty())
+                postings.remove(term, posting);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 검색 결과 한 페이지 (점수 높은 순)
+ */
+@Getter
+public class ItemSearchResult {
+
+    private final int total;
+
+    private final int page;
+
+    private final int size;
+
+    private final List<ItemSearchHit> hits;
+
+    public ItemSearchResult(int total, int page, int size, List<ItemSearchHit> hits) {
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.hits = hits;
+    }
+
+    public boolean isHasNext() {
+        return (long) (page + 1) * size < total;
+    }
+
+}
@@ -0,0 +1,153 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.config.VirtualThreads;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.ItemSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 상품 검색 (메모리 역색인, 상품명 / 저자 / isbn / 아티스트 / 감독 / 배우)
+ * 1. 상품 등록 / 수정이 커밋되면 그 상품만 다시 색인
+ * 2. 시작할 때 DB 에서 id 범위 chunk 를 병렬로 읽어 새 색인을 만들고 교체
+ *    (재생성 도중 커밋된 변경은 새 색인에도 반영, version 이 더 높은 값이 남음)
+ */
+@Slf4j
+@Service @RequiredArgsConstructor
+public class ItemSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ItemRepository itemRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jpashop.item.search.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    @Value("${jpashop.item.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize;
+
+    private final Object writeLock = new Object();
+
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+
+    private ItemSearchIndex rebuilding; // 재생성 중인 색인 (writeLock)
+
+    // 트랜잭션 안이면 커밋 후 (flush 로 올라간 version 기준), 아니면 바로
+    public void indexAfterCommit(Item item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(ItemDocument.of(item));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(ItemDocument.of(item));
+            }
+        });
+    }
+
+    // 이미 커밋된 상품 (일괄 등록)
+    public void index(Collection<Item> items) {
+        for (Item item : items)
+            index(ItemDocument.of(item));
+    }
+
+    public ItemSearchResult search(String query, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return index.search(query, Math.max(page, 0), pageSize);
+    }
+
+    // 검색 결과 순서대로 상품 목록 (화면용, 공통 컬럼만 in 쿼리 한번)
+    public List<ItemSummary> searchItems(String query, int page, int size) {
+        List<ItemSearchHit> hits = search(query, page, size).getHits();
+        if (hits.isEmpty())
+            return new ArrayList<>();
+        Map<Long, ItemSummary> items = new HashMap<>();
+        for (ItemSummary item : itemRepository.findSummaries(hits.stream().map(ItemSearchHit::getItemId).toList()))
+            items.put(item.getId(), item);
+        List<ItemSummary> ranked = new ArrayList<>();
+        for (ItemSearchHit hit : hits)
+            if (items.containsKey(hit.getItemId()))
+                ranked.add(items.get(hit.getItemId()));
+        return ranked;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        ItemSearchIndex target = new ItemSearchIndex();
+        synchronized (writeLock) {
+            rebuilding = target;
+        }
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> itemRepository.findAllIds());
+            ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads, VirtualThreads.threadFactory("item-index-"));
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int from = 0; from < ids.size(); from += rebuildChunkSize) {
+                    Long fromId = ids.get(from);
+                    Long toId = ids.get(Math.min(ids.size(), from + rebuildChunkSize) - 1);
+                    futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                        for (Item item : itemRepository.findAllByIdRange(fromId, toId))
+                            target.put(ItemDocument.of(item));
+                    })));
+                }
+                for (Future<?> future : futures)
+                    future.get();
+            } finally {
+                executor.shutdownNow();
+            }
+            synchronized (writeLock) {
+                index = target;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("상품 검색 색인 재생성에 실패했습니다.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("상품 검색 색인 재생성이 중단되었습니다.", e);
+        } finally {
+            synchronized (writeLock) {
+                rebuilding = null;
+            }
+        }
+        log.info("item search index rebuilt. items={}, elapsed={}ms", target.size(), System.currentTimeMillis() - start);
+        return target.size();
+    }
+
+    private void index(ItemDocument document) {
+        synchronized (writeLock) {
+            index.put(document);
+            if (rebuilding != null)
+                rebuilding.put(document);
+        }
+    }
+
+}
@@ -1,10 +1,15 @@
 package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemListSearch;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.ItemSummary;
+import jpabook.jpashop.repository.ItemSummaryPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.util.List;
 
 @Service @RequiredArgsConstructor @Transactional(readOnly = true)
@@ -12,9 +17,15 @@ public class ItemService {
 
     private final ItemRepository itemRepository;
 
+    private final StockReservationService stockReservationService;
+
+    private final ItemSearchService itemSearchService;
+
     @Transactional
     public void saveItem(Item item) {
         itemRepository.save(item);
+        evictCacheAfterCommit(item.getId());
+        itemSearchService.indexAfterCommit(item);
     }
 
     @Transactional
@@ -23,6 +34,9 @@ public class ItemService {
         findItem.setName(name);
         findItem.setPrice(price);
         findItem.setStockQuantity(stockQuantity);
+        stockReservationService.evict(itemId); // 예약 엔진 카운터는 커밋 후 다시 적재
+        evictCacheAfterCommit(itemId);
+        itemSearchService.indexAfterCommit(findItem); // 검색 색인도 커밋 후 갱신
     }
 
     public List<Item> findItems() {
@@ -33,4 +47,32 @@ public class ItemService {
          return itemRepository.findOne(itemId);
     }
 
+    // 상품 목록 화면 조회 (DTO)
+    public ItemSummaryPage findItemSummaries(ItemListSearch itemListSearch) {
+        return itemRepository.findSummaries(itemListSearch);
+    }
+
+    public List<ItemSummary> findAllItemSummaries() {
+        return itemRepository.findAllSummaries();
+    }
+
+    public ItemSummary findItemSummary(Long itemId) {
+        return itemRepository.findSummary(itemId);
+    }
+
+    // 종류별 상세 조회 (다른 종류면 null)
+    public <T extends Item> T findDetail(Long itemId, Class<T> type) {
+        return itemRepository.findDetail(itemId, type);
+    }
+
+    // 커밋 전에 지우면 다른 트랜잭션이 이전 값으로 다시 캐시를 채울 수 있어 커밋 후 제거
+    private void evictCacheAfterCommit(Long itemId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemRepository.evictCache(itemId);
+            }
+        });
+    }
+
 }
@@ -0,0 +1,68 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberNameTrigramRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 회원 이름 trigram 인덱스 관리 (jpashop.order.search.trigram.enabled=true 일 때만)
+ * 1. 회원가입 트랜잭션 안에서 trigram 을 같이 저장
+ * 2. 애플리케이션 시작 시 기존 회원으로 전체 재생성 (chunk 마다 트랜잭션)
+ */
+@Slf4j
+@Service @RequiredArgsConstructor
+public class MemberNameTrigramService {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final MemberNameTrigramRepository memberNameTrigramRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jpashop.order.search.trigram.enabled:false}")
+    private boolean enabled;
+
+    public void index(Member member) {
+        if (enabled)
+            memberNameTrigramRepository.saveAll(member.getId(), member.getName());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled)
+            rebuild();
+    }
+
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> memberNameTrigramRepository.deleteAll());
+
+        int indexed = 0;
+        Long afterId = 0L;
+        while (true) {
+            Long cursor = afterId;
+            List<Object[]> members = transactionTemplate.execute(status -> {
+                List<Object[]> rows = memberNameTrigramRepository.findMemberNames(cursor, REBUILD_CHUNK_SIZE);
+                for (Object[] row : rows)
+                    memberNameTrigramRepository.saveAll((Long) row[0], (String) row[1]);
+                memberNameTrigramRepository.flushAndClear();
+                return rows;
+            });
+            indexed += members.size();
+            if (members.size() < REBUILD_CHUNK_SIZE)
+                break;
+            afterId = (Long) members.get(members.size() - 1)[0];
+        }
+        log.info("member name trigram index rebuilt. members={}, elapsed={}ms", indexed, System.currentTimeMillis() - start);
+        return indexed;
+    }
+
+}
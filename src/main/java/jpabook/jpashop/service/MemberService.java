@@ -2,7 +2,12 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.MemberSearch;
+import jpabook.jpashop.repository.MemberSummaryDto;
+import jpabook.jpashop.repository.MemberSummaryPage;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -10,25 +15,50 @@ import java.util.List;
 @Service @RequiredArgsConstructor @Transactional(readOnly = true) // 1. @Transactional 를 클래스 단위에 설정하면 public 이나 protected 메서드가 걸려들어감. (readonly 라 변경감지 등 체클르하지 않아 성능에 유리)
 public class MemberService {
 
+    private static final int SEARCH_LIMIT = 10;
+
     private final MemberRepository memberRepository;
 
+    private final MemberNameTrigramService memberNameTrigramService;
+
     @Transactional  // 2. @Transactional 메서드 단위에 설정하면 우선권을 갖음.(여기는 readonly=true 가 아니기 떄문에 변경감지 등을 수행.)
     public Long join(Member member) {
         validateDuplicateMember(member);
-        memberRepository.save(member);
+        try {
+            memberRepository.saveAndFlush(member);  // 3. 동시에 가입해서 중복 검사를 같이 통과한 경우는 uk_member_name 제약조건이 막아줌.
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateName(e))
+                throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+            throw e;
+        }
+        memberNameTrigramService.index(member);
         return member.getId();
     }
 
     private void validateDuplicateMember(Member member) {
-        List<Member> findMembers = memberRepository.findByName(member.getName());
-        if (!findMembers.isEmpty())
+        if (memberRepository.existsByName(member.getName()))
             throw new IllegalStateException("이미 존재하는 회원입니다.");
     }
 
+    private boolean isDuplicateName(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException violation))
+            return false;
+        String constraintName = violation.getConstraintName();
+        return constraintName != null && constraintName.toLowerCase().contains(Member.UK_NAME);
+    }
+
     public List<Member> findMembers() {
         return memberRepository.findAll();
     }
 
+    public MemberSummaryPage findMemberSummaries(MemberSearch memberSearch) {
+        return memberRepository.findMemberSummaries(memberSearch);
+    }
+
+    public List<MemberSummaryDto> searchMembers(String namePrefix) {
+        return memberRepository.searchByNamePrefix(namePrefix, SEARCH_LIMIT);
+    }
+
     public Member findOne(Long memberId) {
         return memberRepository.findOne(memberId);
     }
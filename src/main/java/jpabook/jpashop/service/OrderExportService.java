@@ -0,0 +1,89 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jpabook.jpashop.repository.OrderExportRow;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * 주문 내보내기 (정산용)
+ * 조회 결과를 메모리에 모으지 않고 한 줄씩 바로 Writer 로 씀. --> 주문 건수와 상관없이 메모리 사용량 일정
+ */
+@Service @RequiredArgsConstructor @Transactional(readOnly = true)
+public class OrderExportService {
+
+    private static final String[] COLUMNS = {"orderId", "memberName", "status", "orderDate", "totalPrice"};
+
+    private final OrderRepository orderRepository;
+
+    @Value("${jpashop.order.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public void export(OrderSearch orderSearch, OrderExportFormat format, Writer writer) throws IOException {
+        try {
+            if (format == OrderExportFormat.JSON)
+                exportJson(orderSearch, writer);
+            else
+                exportCsv(orderSearch, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void exportCsv(OrderSearch orderSearch, Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\n");
+        orderRepository.scrollForExport(orderSearch, fetchSize, row -> {
+            try {
+                writer.write(row.getOrderId() + "," + csv(row.getMemberName()) + "," + row.getStatus() + ","
+                        + row.getOrderDate() + "," + row.getTotalPrice() + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void exportJson(OrderSearch orderSearch, Writer writer) throws IOException {
+        JsonGenerator generator = new JsonFactory().createGenerator(writer);
+        generator.writeStartArray();
+        orderRepository.scrollForExport(orderSearch, fetchSize, row -> {
+            try {
+                writeJson(generator, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private void writeJson(JsonGenerator generator, OrderExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(COLUMNS[0], row.getOrderId());
+        generator.writeStringField(COLUMNS[1], row.getMemberName());
+        generator.writeStringField(COLUMNS[2], row.getStatus().name());
+        generator.writeStringField(COLUMNS[3], String.valueOf(row.getOrderDate()));
+        generator.writeNumberField(COLUMNS[4], row.getTotalPrice());
+        generator.writeEndObject();
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감쌈
+    private String csv(String value) {
+        if (value == null)
+            return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n"))
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        return value;
+    }
+
+}
@@ -1,5 +1,6 @@
 package jpabook.jpashop.service;
 
+import jpabook.jpashop.aop.RetryOnOptimisticLock;
 import jpabook.jpashop.domain.Delivery;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
@@ -9,11 +10,15 @@ import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service @RequiredArgsConstructor @Transactional(readOnly = true)
 public class OrderService {
@@ -24,8 +29,12 @@ public class OrderService {
 
     private final ItemRepository itemRepository;
 
+    private final StockReservationService stockReservationService;
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
     // 주문
-    @Transactional
+    @Transactional @RetryOnOptimisticLock(key = "itemId")
     public Long order(Long memberId, Long itemId, int count) {
         Member member = memberRepository.findOne(memberId); // 엔티티 조회
         Item item = itemRepository.findOne(itemId);
@@ -33,24 +42,77 @@ public class OrderService {
         Delivery delivery = new Delivery(); // 배송정보 생성
         delivery.setAddress(member.getAddress());
 
-        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count); // 주문상품 생성
+        OrderItem orderItem = createOrderItem(item, count); // 주문상품 생성
 
         Order order = Order.createOrder(member, delivery, orderItem); // 주문 생성
 
         orderRepository.save(order); // 주문 저장
+        salesAnalyticsService.recordOrder(order); // 판매 집계 (커밋 후 반영)
+        return order.getId();
+    }
+
+    // 장바구니 주문 (여러 상품을 한 주문으로)
+    @Transactional @RetryOnOptimisticLock
+    public Long order(Long memberId, List<OrderLine> orderLines) {
+        Map<Long, Integer> counts = new TreeMap<>(); // 상품 id 순 정렬 + 같은 상품 수량 합산
+        for (OrderLine orderLine : orderLines) {
+            if (orderLine.getItemId() == null)
+                throw new IllegalArgumentException("주문할 상품을 선택해야 합니다.");
+            if (orderLine.getCount() <= 0)
+                throw new IllegalArgumentException("주문수량은 1개 이상이어야 합니다.");
+            counts.merge(orderLine.getItemId(), orderLine.getCount(), Integer::sum);
+        }
+        if (counts.isEmpty())
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
+
+        Member member = memberRepository.findOne(memberId);
+        List<Item> items = itemRepository.findAllById(counts.keySet()); // in 쿼리 한번으로 조회 (id 순)
+        if (items.size() != counts.size())
+            throw new IllegalArgumentException("존재하지 않는 상품입니다.");
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (Item item : items) // 재고 확인/차감도 id 순으로 (데드락 방지)
+            orderItems.add(createOrderItem(item, counts.get(item.getId())));
+
+        Order order = Order.createOrder(member, delivery, orderItems.toArray(new OrderItem[0]));
+        orderRepository.save(order); // insert 는 flush 시 jdbc batch 로 묶임
+        salesAnalyticsService.recordOrder(order);
         return order.getId();
     }
 
     // 취소
-    @Transactional
+    @Transactional @RetryOnOptimisticLock(key = "orderId")
     public void cancelOrder(Long orderId) {
         Order order = orderRepository.findOne(orderId); // 주문 엔티티 조회
-        order.cancel(); // 주문 취소
+        if (!stockReservationService.isEnabled()) {
+            order.cancel(); // 주문 취소
+        } else {
+            order.cancelWithoutRestock();
+            for (OrderItem orderItem : order.getOrderItems())
+                stockReservationService.release(orderItem.getItem(), orderItem.getCount());
+        }
+        orderRepository.saveSummaryStatus(order); // 주문 목록 read model 상태 반영
+        salesAnalyticsService.recordCancel(order);
+    }
+
+    private OrderItem createOrderItem(Item item, int count) {
+        if (!stockReservationService.isEnabled())
+            return OrderItem.createOrderItem(item, item.getPrice(), count);
+        stockReservationService.reserve(item, count); // 재고 예약 (메모리 CAS 차감 + 저널 선기록)
+        return OrderItem.createReservedOrderItem(item, item.getPrice(), count);
     }
 
     // 검색
     public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByString(orderSearch);
+        return orderRepository.findAllByNamedQuery(orderSearch);
+    }
+
+    // 주문 목록 화면 조회 (DTO)
+    public OrderSummaryPage findOrderSummaries(OrderSearch orderSearch) {
+        return orderRepository.findOrderSummaries(orderSearch);
     }
 
 }
@@ -0,0 +1,61 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 비동기 주문 접수표
+ * 접수 즉시 발급하고, 워커가 주문을 처리하면서 상태를 바꿈. (상태 조회 : GET /order/tickets/{ticketId})
+ */
+@Getter
+public class OrderTicket {
+
+    private final String ticketId = UUID.randomUUID().toString();
+
+    @JsonIgnore
+    private final Long memberId;
+
+    @JsonIgnore
+    private final List<OrderLine> orderLines;
+
+    private final LocalDateTime createdDate = LocalDateTime.now();
+
+    private volatile OrderTicketStatus status = OrderTicketStatus.QUEUED;
+
+    private volatile Long orderId;
+
+    private volatile String message;
+
+    private volatile LocalDateTime completedDate;
+
+    public OrderTicket(Long memberId, List<OrderLine> orderLines) {
+        this.memberId = memberId;
+        this.orderLines = List.copyOf(orderLines);
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return status == OrderTicketStatus.COMPLETED || status == OrderTicketStatus.FAILED;
+    }
+
+    void processing() {
+        status = OrderTicketStatus.PROCESSING;
+    }
+
+    void completed(Long orderId) {
+        this.orderId = orderId;
+        this.completedDate = LocalDateTime.now();
+        this.status = OrderTicketStatus.COMPLETED;
+    }
+
+    void failed(String message) {
+        this.message = message;
+        this.completedDate = LocalDateTime.now();
+        this.status = OrderTicketStatus.FAILED;
+    }
+
+}
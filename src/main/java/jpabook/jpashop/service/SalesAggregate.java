@@ -0,0 +1,28 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+/**
+ * 판매 집계 한 줄 (key 는 groupBy 에 따라 상품 id / 일자 / 주문상태)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesAggregate {
+
+    private final Object key;
+
+    private final String name;
+
+    private final long quantity;
+
+    private final long revenue;
+
+    public SalesAggregate(Object key, String name, long quantity, long revenue) {
+        this.key = key;
+        this.name = name;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+}
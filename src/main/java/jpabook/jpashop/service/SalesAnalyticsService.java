@@ -0,0 +1,221 @@
+package jpabook.jpashop.service;
+
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.SalesDaily;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.SalesDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 판매 집계 (상품 / 일자 / 주문상태 별 수량, 매출)
+ * 1. 주문 / 취소가 커밋되면 메모리 집계에 증감만 반영 (롤백, 낙관적 락 재시도된 주문은 반영되지 않음)
+ * 2. 조회는 메모리에서만 (대시보드가 주문 테이블을 읽지 않음)
+ * 3. 바뀐 집계는 주기적으로 sales_daily 에 저장, 시작할 때 sales_daily 를 읽고 비어 있으면 주문상품 group by 한번으로 재생성
+ */
+@Slf4j
+@Service @RequiredArgsConstructor
+public class SalesAnalyticsService {
+
+    private final SalesDailyRepository salesDailyRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<SalesKey, Totals> totals = new ConcurrentHashMap<>();
+
+    private final Set<SalesKey> dirtyKeys = ConcurrentHashMap.newKeySet();
+
+    // 주문 트랜잭션 안에서 호출, 커밋된 후에 반영
+    public void recordOrder(Order order) {
+        List<Line> lines = lines(order, OrderStatus.ORDER, 1);
+        afterCommit(() -> lines.forEach(this::apply));
+    }
+
+    // 주문 상태 --> 취소 상태로 이동
+    public void recordCancel(Order order) {
+        List<Line> lines = new ArrayList<>(lines(order, OrderStatus.ORDER, -1));
+        lines.addAll(lines(order, OrderStatus.CANCEL, 1));
+        afterCommit(() -> lines.forEach(this::apply));
+    }
+
+    public List<SalesAggregate> findSales(SalesGroupBy groupBy, LocalDate fromDate, LocalDate toDate) {
+        Map<Object, long[]> grouped = new TreeMap<>(); // 키는 한 종류 (상품 id / 날짜 / 상태) 라 그 타입의 자연 순서로
+        totals.forEach((key, value) -> {
+            if (fromDate != null && key.salesDate().isBefore(fromDate))
+                return;
+            if (toDate != null && key.salesDate().isAfter(toDate))
+                return;
+            Object groupKey = switch (groupBy) {
+                case ITEM -> key.itemId();
+                case DAY -> key.salesDate();
+                case STATUS -> key.status();
+            };
+            long[] sum = grouped.computeIfAbsent(groupKey, k -> new long[2]);
+            sum[0] += value.quantity.sum();
+            sum[1] += value.revenue.sum();
+        });
+
+        Map<Long, String> itemNames = new HashMap<>();
+        if (groupBy == SalesGroupBy.ITEM && !grouped.isEmpty()) {
+            List<Long> itemIds = grouped.keySet().stream().map(Long.class::cast).toList();
+            for (Item item : itemRepository.findAllById(itemIds)) // 상품은 2차 캐시
+                itemNames.put(item.getId(), item.getName());
+        }
+
+        List<SalesAggregate> aggregates = new ArrayList<>();
+        grouped.forEach((key, sum) -> aggregates.add(new SalesAggregate(key, itemNames.get(key), sum[0], sum[1])));
+        return aggregates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        List<SalesDaily> snapshot = transactionTemplate.execute(status -> salesDailyRepository.findAll());
+        if (snapshot.isEmpty()) {
+            rebuild();
+            return;
+        }
+        Map<SalesKey, Totals> loaded = new ConcurrentHashMap<>();
+        for (SalesDaily salesDaily : snapshot) {
+            Totals value = loaded.computeIfAbsent(new SalesKey(salesDaily.getItemId(), salesDaily.getSalesDate(), salesDaily.getStatus()), k -> new Totals());
+            value.add(salesDaily.getQuantity(), salesDaily.getRevenue());
+        }
+        totals = loaded;
+        log.info("sales analytics loaded from snapshot. rows={}", snapshot.size());
+    }
+
+    /**
+     * 주문상품 group by 한번으로 전체 재생성 + 스냅샷 다시 저장
+     * 재생성 도중 커밋된 주문은 중복 / 누락될 수 있어 주문이 적은 시간에 실행
+     */
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        int rows = transactionTemplate.execute(status -> {
+            Map<SalesKey, Totals> rebuilt = new ConcurrentHashMap<>();
+            for (Object[] row : salesDailyRepository.aggregateOrderItems()) {
+                SalesKey key = new SalesKey((Long) row[0], (LocalDate) row[1], (OrderStatus) row[2]);
+                rebuilt.computeIfAbsent(key, k -> new Totals()).add(((Number) row[3]).longValue(), ((Number) row[4]).longValue());
+            }
+            salesDailyRepository.deleteAll();
+            rebuilt.forEach((key, value) -> salesDailyRepository.save(
+                    SalesDaily.createSalesDaily(key.itemId(), key.salesDate(), key.status(), value.quantity.sum(), value.revenue.sum())));
+            totals = rebuilt;
+            dirtyKeys.clear();
+            return rebuilt.size();
+        });
+        log.info("sales analytics rebuilt. rows={}, elapsed={}ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    // 바뀐 집계만 저장 (메모리 값이 기준이라 증감이 아니라 현재 값으로 덮어씀)
+    @Scheduled(fixedDelayString = "${jpashop.analytics.flush-interval-ms:60000}")
+    public synchronized int flush() {
+        if (dirtyKeys.isEmpty())
+            return 0;
+        Set<SalesKey> keys = new HashSet<>();
+        for (SalesKey key : dirtyKeys) {
+            dirtyKeys.remove(key);
+            keys.add(key);
+        }
+        Map<SalesKey, Totals> current = totals;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<LocalDate> salesDates = new HashSet<>();
+                keys.forEach(key -> salesDates.add(key.salesDate()));
+                Map<SalesKey, SalesDaily> existing = new HashMap<>();
+                for (SalesDaily salesDaily : salesDailyRepository.findBySalesDates(salesDates))
+                    existing.put(new SalesKey(salesDaily.getItemId(), salesDaily.getSalesDate(), salesDaily.getStatus()), salesDaily);
+                for (SalesKey key : keys) {
+                    Totals value = current.get(key);
+                    if (value == null) // 그 사이 재생성됨 (재생성이 스냅샷도 다시 씀)
+                        continue;
+                    SalesDaily salesDaily = existing.get(key);
+                    if (salesDaily != null)
+                        salesDaily.update(value.quantity.sum(), value.revenue.sum());
+                    else
+                        salesDailyRepository.save(SalesDaily.createSalesDaily(key.itemId(), key.salesDate(), key.status(), value.quantity.sum(), value.revenue.sum()));
+                }
+            });
+        } catch (RuntimeException e) {
+            dirtyKeys.addAll(keys); // 다음 주기에 다시 저장
+            throw e;
+        }
+        return keys.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("sales analytics flush on shutdown failed", e);
+        }
+    }
+
+    private void apply(Line line) {
+        totals.computeIfAbsent(line.key(), k -> new Totals()).add(line.quantity(), line.revenue());
+        dirtyKeys.add(line.key());
+    }
+
+    private List<Line> lines(Order order, OrderStatus status, int sign) {
+        LocalDate salesDate = order.getOrderDate().toLocalDate();
+        List<Line> lines = new ArrayList<>();
+        for (OrderItem orderItem : order.getOrderItems())
+            lines.add(new Line(new SalesKey(orderItem.getItem().getId(), salesDate, status),
+                    sign * (long) orderItem.getCount(), sign * (long) orderItem.getTotalPrice()));
+        return lines;
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    private record SalesKey(Long itemId, LocalDate salesDate, OrderStatus status) {
+    }
+
+    private record Line(SalesKey key, long quantity, long revenue) {
+    }
+
+    private static class Totals {
+        private final LongAdder quantity = new LongAdder();
+        private final LongAdder revenue = new LongAdder();
+
+        void add(long quantity, long revenue) {
+            this.quantity.add(quantity);
+            this.revenue.add(revenue);
+        }
+    }
+
+}
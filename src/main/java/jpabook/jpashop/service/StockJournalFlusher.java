@@ -0,0 +1,54 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.StockJournal;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.StockJournalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * StockJournal 에 쌓인 재고 변경량을 상품별로 합산하여 Item.stockQuantity 에 주기적으로 반영
+ */
+@Component @RequiredArgsConstructor
+@ConditionalOnProperty(name = "jpashop.stock.reservation.enabled", havingValue = "true")
+public class StockJournalFlusher {
+
+    private final StockJournalRepository stockJournalRepository;
+
+    private final ItemRepository itemRepository;
+
+    @Value("${jpashop.stock.reservation.flush-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${jpashop.stock.reservation.flush-interval-ms:1000}",
+            initialDelayString = "${jpashop.stock.reservation.flush-interval-ms:1000}")
+    @Transactional
+    public int flush() {
+        List<StockJournal> journals = stockJournalRepository.findOldest(batchSize);
+        if (journals.isEmpty())
+            return 0;
+
+        // 먼저 삭제해서 저널 row 를 선점 (동시에 다른 flush 가 같은 row 를 잡았으면 롤백)
+        List<Long> ids = journals.stream().map(StockJournal::getId).toList();
+        if (stockJournalRepository.deleteAll(ids) != ids.size())
+            throw new IllegalStateException("stock journal already flushed");
+
+        Map<Long, Integer> deltas = new TreeMap<>(); // 상품 id 순으로 갱신 (데드락 방지)
+        for (StockJournal journal : journals)
+            deltas.merge(journal.getItemId(), journal.getDelta(), Integer::sum);
+        deltas.forEach((itemId, delta) -> {
+            if (delta != 0)
+                itemRepository.addStockQuantity(itemId, delta);
+        });
+        return journals.size();
+    }
+
+}
@@ -0,0 +1,53 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.exception.NotEnoughStockException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * 상품별 가용 재고를 메모리에 두고 CAS 로 차감하는 재고 예약 엔진 (락 없음)
+ * ConcurrentHashMap 이 상품 id 단위로 버킷을 나누기 때문에 서로 다른 상품끼리는 경합하지 않음.
+ * 단일 인스턴스 기준이며, DB 반영은 StockJournal 을 통해 비동기로 이루어짐.
+ */
+@Component
+public class StockReservationEngine {
+
+    private final ConcurrentHashMap<Long, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 재고 예약 (부족하면 DB 를 건드리지 않고 NotEnoughStockException)
+     * @param initialStock 카운터가 없을때 한번만 호출되는 초기 재고
+     */
+    public void reserve(Long itemId, int count, IntSupplier initialStock) {
+        AtomicInteger counter = counters.computeIfAbsent(itemId, id -> new AtomicInteger(initialStock.getAsInt()));
+        while (true) {
+            int current = counter.get();
+            int restStock = current - count;
+            if (restStock < 0)
+                throw new NotEnoughStockException("need more stock");
+            if (counter.compareAndSet(current, restStock))
+                return;
+        }
+    }
+
+    // 예약 해제 (취소, 롤백)
+    public void release(Long itemId, int count) {
+        AtomicInteger counter = counters.get(itemId);
+        if (counter != null)
+            counter.addAndGet(count);
+    }
+
+    // 카운터 제거 (다음 예약시 DB 기준으로 다시 적재)
+    public void evict(Long itemId) {
+        counters.remove(itemId);
+    }
+
+    public Integer available(Long itemId) {
+        AtomicInteger counter = counters.get(itemId);
+        return counter == null ? null : counter.get();
+    }
+
+}
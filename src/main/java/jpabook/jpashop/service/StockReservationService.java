@@ -0,0 +1,70 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.StockJournal;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.StockJournalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 재고 예약 엔진과 트랜잭션을 연결
+ * 1. 예약은 메모리 카운터에서 즉시 차감하고, 같은 트랜잭션에 StockJournal 을 선기록
+ * 2. 트랜잭션이 롤백되면 메모리 카운터를 되돌림
+ * 3. 해제(취소) 는 커밋 이후에 메모리 카운터에 반영
+ */
+@Service @RequiredArgsConstructor
+public class StockReservationService {
+
+    private final StockReservationEngine stockReservationEngine;
+
+    private final StockJournalRepository stockJournalRepository;
+
+    @Value("${jpashop.stock.reservation.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void reserve(Item item, int count) {
+        Long itemId = item.getId();
+        stockReservationEngine.reserve(itemId, count, () -> stockJournalRepository.findAvailableStock(itemId));
+        stockJournalRepository.save(StockJournal.createStockJournal(itemId, -count));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED)
+                    stockReservationEngine.release(itemId, count);
+            }
+        });
+    }
+
+    public void release(Item item, int count) {
+        Long itemId = item.getId();
+        stockJournalRepository.save(StockJournal.createStockJournal(itemId, count));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockReservationEngine.release(itemId, count);
+            }
+        });
+    }
+
+    // 재고 수량이 직접 수정된 경우 카운터를 버리고 다음 예약시 다시 적재
+    public void evict(Long itemId) {
+        if (!enabled)
+            return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockReservationEngine.evict(itemId);
+            }
+        });
+    }
+
+}
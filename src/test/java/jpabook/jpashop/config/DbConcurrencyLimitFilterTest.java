@@ -0,0 +1,134 @@
+package jpabook.jpashop.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DbConcurrencyLimitFilterTest {
+
+    private static final List<String> DB_PATHS = List.of(WebConcurrencyConfig.DEFAULT_DB_PATHS.split(","));
+
+    @Test
+    @DisplayName(value = "동시 처리 수를 넘는 요청은 대기하다가 시간이 지나면 503 으로 거절된다.")
+    public void rejectWhenPermitsExhaustedTest() throws Exception {
+        // given
+        DbConcurrencyLimitFilter filter = new DbConcurrencyLimitFilter(1, 50, DB_PATHS);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<MockHttpServletResponse> holding = executor.submit(() -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders"), response, (request, res) -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return response;
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // when
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders"), rejected, new MockFilterChain());
+        MockHttpServletResponse staticResource = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/css/bootstrap.min.css"), staticResource, new MockFilterChain());
+        release.countDown();
+
+        // then
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, staticResource.getStatus(), "정적 리소스는 제한하지 않는다.");
+        assertEquals(200, holding.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(1L, filter.snapshot().get("rejected"));
+        assertEquals(1L, filter.snapshot().get("available"), "처리가 끝나면 다시 반납된다.");
+        assertEquals(2L, filter.snapshot().get("platformThreadRequests"), "테스트 스레드는 플랫폼 스레드다.");
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName(value = "커넥션을 잡지 않는 요청은 동시 처리 수가 다 차 있어도 제한하지 않는다.")
+    public void skipRequestsWithoutConnectionTest() throws Exception {
+        // given (유일한 permit 을 다른 요청이 잡고 있음)
+        DbConcurrencyLimitFilter filter = new DbConcurrencyLimitFilter(1, 50, DB_PATHS);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> holding = executor.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(), (request, res) -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return null;
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // when
+        int home = status(filter, "GET", "/");
+        int stats = status(filter, "GET", "/stats/cache");
+        int asyncOrder = status(filter, "POST", "/order/async");
+        int ticket = status(filter, "GET", "/order/tickets/abc");
+        int memberForm = status(filter, "GET", "/members/new");
+        int memberCreate = status(filter, "POST", "/members/new");
+        int itemEdit = status(filter, "GET", "/items/1/edit");
+        release.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertEquals(200, home);
+        assertEquals(200, stats);
+        assertEquals(200, asyncOrder, "비동기 주문 접수는 대기열에만 넣으니 제한하지 않는다.");
+        assertEquals(200, ticket);
+        assertEquals(200, memberForm, "등록 폼 화면은 DB 를 조회하지 않는다.");
+        assertEquals(503, memberCreate, "등록(POST) 은 저장하니 제한한다.");
+        assertEquals(503, itemEdit);
+        assertEquals(2L, filter.snapshot().get("rejected"));
+    }
+
+    @Test
+    @DisplayName(value = "가상 스레드 executor 에서 처리한 요청은 가상 스레드 요청으로 센다.")
+    public void countVirtualThreadRequestsTest() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 Java 21 부터");
+
+        // given
+        DbConcurrencyLimitFilter filter = new DbConcurrencyLimitFilter(1, 50, DB_PATHS);
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-");
+
+        // when
+        executor.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(), new MockFilterChain());
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertEquals(1L, filter.snapshot().get("virtualThreadRequests"));
+        assertEquals(0L, filter.snapshot().get("platformThreadRequests"));
+    }
+
+    private int status(DbConcurrencyLimitFilter filter, String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+}
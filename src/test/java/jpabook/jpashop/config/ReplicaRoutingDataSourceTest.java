@@ -0,0 +1,225 @@
+package jpabook.jpashop.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 주 DB 1개 + 복제본 2개를 각각 다른 H2 메모리 DB 로 띄우고, 어느 DB 에서 읽었는지는 node 테이블 값으로 확인
+class ReplicaRoutingDataSourceTest {
+
+    private final Map<DataSource, Long> lags = new ConcurrentHashMap<>();
+
+    private ReplicaRoutingDataSource routing;
+
+    @AfterEach
+    public void tearDown() {
+        if (routing != null)
+            routing.close();
+    }
+
+    @Test
+    @DisplayName(value = "읽기 전용 트랜잭션은 복제본을 돌아가면서, 쓰기 트랜잭션과 트랜잭션 밖은 주 DB 로 보낸다.")
+    public void routeByReadOnlyTest() throws Exception {
+        // given
+        routing = routing(ReplicaSelection.ROUND_ROBIN, h2("replica-0"), h2("replica-1"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+
+        // when
+        List<String> reads = List.of(readOnly().execute(status -> node(jdbcTemplate)),
+                readOnly().execute(status -> node(jdbcTemplate)),
+                readOnly().execute(status -> node(jdbcTemplate)));
+        String write = readWrite().execute(status -> node(jdbcTemplate));
+        String noTransaction = node(jdbcTemplate);
+
+        // then
+        assertEquals(List.of("replica-0", "replica-1", "replica-0"), reads);
+        assertEquals("primary", write);
+        assertEquals("primary", noTransaction);
+        assertEquals(2L, routing.snapshot().get("replica-0").get("connections"));
+        assertEquals(0L, routing.snapshot().get("replica-0").get("inUse"), "트랜잭션이 끝나면 반납되어야 한다.");
+    }
+
+    @Test
+    @DisplayName(value = "계정을 지정한 연결은 읽기 전용 트랜잭션이어도 주 DB 로 보낸다.")
+    public void connectWithCredentialsTest() throws Exception {
+        // given
+        routing = routing(ReplicaSelection.ROUND_ROBIN, h2("replica-0"));
+
+        // when
+        String node = readOnly().execute(status -> {
+            try (Connection connection = routing.getConnection("sa", "");
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select name from node")) {
+                resultSet.next();
+                return resultSet.getString(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // then
+        assertEquals("primary", node);
+        assertEquals(0L, routing.snapshot().get("replica-0").get("connections"));
+    }
+
+    @Test
+    @DisplayName(value = "지연이 max-lag 를 넘은 복제본은 빼고, 쓸 수 있는 복제본이 없으면 주 DB 에서 읽는다.")
+    public void lagFallbackTest() throws Exception {
+        // given
+        DataSource replica0 = h2("replica-0");
+        DataSource replica1 = h2("replica-1");
+        routing = routing(ReplicaSelection.ROUND_ROBIN, replica0, replica1);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+
+        // when
+        lags.put(replica0, 5000L);
+        routing.checkReplicas();
+        List<String> oneLagging = List.of(readOnly().execute(status -> node(jdbcTemplate)),
+                readOnly().execute(status -> node(jdbcTemplate)));
+        lags.put(replica1, 5000L);
+        routing.checkReplicas();
+        String allLagging = readOnly().execute(status -> node(jdbcTemplate));
+        lags.clear();
+        routing.checkReplicas();
+        String recovered = readOnly().execute(status -> node(jdbcTemplate));
+
+        // then
+        assertEquals(List.of("replica-1", "replica-1"), oneLagging);
+        assertEquals("primary", allLagging);
+        assertEquals(1L, routing.snapshot().get("primary").get("readFallbacks"));
+        assertEquals(1L, routing.snapshot().get("replica-0").get("available"), "지연이 줄면 다시 사용한다.");
+        assertTrue(recovered.startsWith("replica-"));
+    }
+
+    @Test
+    @DisplayName(value = "연결에 실패한 복제본은 빼고 다른 복제본에서 읽는다.")
+    public void unreachableReplicaTest() throws Exception {
+        // given
+        DriverManagerDataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", "");
+        routing = routing(ReplicaSelection.ROUND_ROBIN, unreachable, h2("replica-1"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+
+        // when
+        String first = readOnly().execute(status -> node(jdbcTemplate));
+        String second = readOnly().execute(status -> node(jdbcTemplate));
+
+        // then
+        assertEquals("replica-1", first);
+        assertEquals("replica-1", second);
+        assertEquals(0L, routing.snapshot().get("replica-0").get("available"));
+    }
+
+    @Test
+    @DisplayName(value = "주기적으로 확인하지 않으면, 쓸 수 있는 복제본이 없을 때 읽으면서 제외된 복제본을 다시 확인한다.")
+    public void recheckDownReplicaTest() throws Exception {
+        // given (lag-check-interval 0, 연결 실패를 켜고 끌 수 있는 복제본 하나)
+        AtomicBoolean down = new AtomicBoolean(true);
+        DataSource replica = new DelegatingDataSource(h2("replica-0")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (down.get())
+                    throw new SQLException("replica is down");
+                return super.getConnection();
+            }
+        };
+        routing = routing(ReplicaSelection.ROUND_ROBIN, replica);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+
+        // when
+        String whileDown = readOnly().execute(status -> node(jdbcTemplate));
+        down.set(false);
+        String recovered = readOnly().execute(status -> node(jdbcTemplate));
+
+        down.set(true);
+        readOnly().execute(status -> node(jdbcTemplate));
+        down.set(false);
+        String throttled = readOnly().execute(status -> node(jdbcTemplate));
+        Thread.sleep(ReplicaRoutingDataSource.RECHECK_MILLIS);
+        String rechecked = readOnly().execute(status -> node(jdbcTemplate));
+
+        // then
+        assertEquals("primary", whileDown);
+        assertEquals("replica-0", recovered, "제외된 복제본을 다시 확인해서 사용한다.");
+        assertEquals("primary", throttled, "다시 확인한 지 RECHECK_MILLIS 가 지나지 않았으면 주 DB 로 읽는다.");
+        assertEquals("replica-0", rechecked);
+    }
+
+    @Test
+    @DisplayName(value = "LEAST_LOADED 는 빌려간 커넥션이 가장 적은 복제본을 고른다.")
+    public void leastLoadedTest() throws Exception {
+        // given
+        routing = routing(ReplicaSelection.LEAST_LOADED, h2("replica-0"), h2("replica-1"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when (첫번째 트랜잭션이 replica-0 커넥션을 잡고 있는 동안 다른 스레드에서 읽음)
+        List<String> reads = readOnly().execute(status -> {
+            String holding = node(jdbcTemplate);
+            try {
+                String concurrent = executor.submit(() -> readOnly().execute(s -> node(jdbcTemplate))).get(5, TimeUnit.SECONDS);
+                return List.of(holding, concurrent);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        executor.shutdown();
+
+        // then
+        assertEquals(List.of("replica-0", "replica-1"), reads);
+    }
+
+    private ReplicaRoutingDataSource routing(ReplicaSelection selection, DataSource... replicas) {
+        Map<String, DataSource> named = new LinkedHashMap<>();
+        for (DataSource replica : replicas)
+            named.put("replica-" + named.size(), replica);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(h2("primary"), named, selection,
+                replica -> lags.getOrDefault(replica, 0L), 1000, 0);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private DataSource h2(String node) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node (name) values (?)", node);
+        return dataSource;
+    }
+
+    private String node(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate transactionTemplate = readWrite();
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    private TransactionTemplate readWrite() {
+        return new TransactionTemplate(new DataSourceTransactionManager(routing));
+    }
+
+}
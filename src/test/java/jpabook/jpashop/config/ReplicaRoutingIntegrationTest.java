@@ -0,0 +1,185 @@
+package jpabook.jpashop.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.CategoryService;
+import jpabook.jpashop.service.CategoryTree;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 복제본 라우팅을 켜고 실제 경로(datasource-proxy -> ReplicaRoutingDataSource, JpaTransactionManager, 트랜잭션 단위 커넥션 반납)로 확인
+// 스키마는 주 DB 에만 생성되기 때문에 복제본에는 주 DB 스키마를 복사하고, 어느 DB 에서 읽었는지는 DB 마다 다르게 넣은 이름으로 확인
+// 커밋 경계가 필요해서 @Transactional 을 사용하지 않음.
+@SpringBootTest(properties = {
+        "jpashop.datasource.routing.enabled=true",
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpashop.datasource.replica.urls=" + ReplicaRoutingIntegrationTest.REPLICA_0_URL + "," + ReplicaRoutingIntegrationTest.REPLICA_1_URL,
+        "jpashop.datasource.replica.selection=ROUND_ROBIN",
+        "jpashop.datasource.replica.lag-check-interval-ms=0"})
+@DirtiesContext
+class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_0_URL = "jdbc:h2:mem:routing-replica-0;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1_URL = "jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1";
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired DataSource dataSource;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired CategoryService categoryService;
+
+    private final JdbcTemplate primary = jdbcTemplate(PRIMARY_URL);
+    private final Map<String, JdbcTemplate> replicas = Map.of("replica-0", jdbcTemplate(REPLICA_0_URL), "replica-1", jdbcTemplate(REPLICA_1_URL));
+
+    // 복제본을 주 DB 스키마로 다시 만듦 (데이터 없이)
+    @BeforeEach
+    public void copySchemaToReplicas() {
+        List<String> script = primary.queryForList("script nodata nopasswords nosettings", String.class).stream()
+                .filter(statement -> !statement.startsWith("--"))
+                .toList();
+        for (JdbcTemplate replica : replicas.values()) {
+            replica.execute("drop all objects");
+            script.forEach(replica::execute);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "실제 트랜잭션 매니저 / SQL 추적 프록시 / 트랜잭션 단위 커넥션 반납 설정으로 동작한다.")
+    public void wiringTest() throws Exception {
+        // then
+        assertInstanceOf(ProxyDataSource.class, dataSource, "SQL 추적 프록시가 라우팅 DataSource 를 감싸야 한다.");
+        assertTrue(dataSource.isWrapperFor(ReplicaRoutingDataSource.class));
+        assertInstanceOf(ReplicaAwareJpaTransactionManager.class, transactionManager);
+        assertEquals(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION,
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class).getSessionFactoryOptions().getPhysicalConnectionHandlingMode());
+    }
+
+    @Test
+    @DisplayName(value = "@Transactional(readOnly = true) 서비스 조회는 복제본을 돌아가면서 읽고, 쓰기는 주 DB 에만 간다.")
+    public void routeServiceTransactionsTest() throws Exception {
+        // given
+        Member member = new Member();
+        member.setName("주DB회원");
+        Long memberId = memberService.join(member);
+        replicate("member", "member_id", memberId);
+        Map<String, Long> before = routing().snapshot().get("primary");
+
+        // when
+        List<String> reads = new ArrayList<>();
+        reads.add(memberService.findOne(memberId).getName());
+        reads.add(memberService.findOne(memberId).getName());
+        Map<String, Map<String, Long>> afterReads = routing().snapshot();
+
+        Member written = new Member();
+        written.setName("새회원");
+        Long writtenId = memberService.join(written);
+
+        // then
+        assertEquals(Set.of("replica-0", "replica-1"), Set.copyOf(reads), "읽기 전용 조회는 두 복제본에서 번갈아 읽어야 한다.");
+        assertEquals(before.get("connections"), afterReads.get("primary").get("connections"), "읽기 전용 조회는 주 DB 커넥션을 쓰지 않아야 한다.");
+        assertEquals(0L, afterReads.get("replica-0").get("inUse"), "트랜잭션이 끝나면 복제본 커넥션을 반납해야 한다.");
+        assertEquals(0L, afterReads.get("replica-1").get("inUse"));
+
+        assertEquals("새회원", primary.queryForObject("select name from member where member_id = ?", String.class, writtenId));
+        for (JdbcTemplate replica : replicas.values())
+            assertEquals(0, replica.queryForObject("select count(*) from member where member_id = ?", Integer.class, writtenId), "쓰기는 복제본으로 가면 안 된다.");
+    }
+
+    @Test
+    @DisplayName(value = "복제본에서 읽은 상품은 2차 캐시에 넣지 않고, 쓰기 트랜잭션(주 DB) 에서 읽은 값만 캐시한다.")
+    public void replicaReadDoesNotPopulateCacheTest() throws Exception {
+        // given (복제본은 아직 이전 이름)
+        Book book = new Book();
+        book.setName("시골 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        replicate("item", "item_id", book.getId());
+        entityManagerFactory.getCache().evict(Item.class, book.getId());
+
+        // when
+        Item fromReplica = itemService.findOne(book.getId());
+        boolean cachedAfterReplicaRead = entityManagerFactory.getCache().contains(Item.class, book.getId());
+        Item fromPrimary = transactionTemplate.execute(status -> entityManager.find(Item.class, book.getId()));
+        Item cached = itemService.findOne(book.getId());
+
+        // then
+        assertTrue(fromReplica.getName().startsWith("replica-"));
+        assertFalse(cachedAfterReplicaRead, "복제본에서 읽은 값은 캐시하지 않아야 한다.");
+        assertEquals("시골 JPA", fromPrimary.getName());
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, book.getId()));
+        assertEquals("시골 JPA", cached.getName(), "읽기 전용 조회도 캐시된 주 DB 값을 읽어야 한다.");
+    }
+
+    @Test
+    @DisplayName(value = "카테고리 트리는 주 DB 커넥션 하나로 적재하고 복제본은 쓰지 않는다.")
+    public void loadCategoryTreeFromPrimaryTest() throws Exception {
+        // given (복제본에는 복사하지 않음)
+        Long categoryId = categoryService.createCategory("주DB카테고리", null);
+        Map<String, Map<String, Long>> before = routing().snapshot();
+
+        // when
+        CategoryTree tree = categoryService.getTree();
+        Map<String, Map<String, Long>> after = routing().snapshot();
+
+        // then
+        assertNotNull(tree.find(categoryId), "복제 전인 카테고리도 주 DB 에서 읽어야 한다.");
+        assertEquals(before.get("primary").get("connections") + 1, after.get("primary").get("connections"), "주 DB 트랜잭션 하나만 열어야 한다.");
+        for (String replica : replicas.keySet())
+            assertEquals(before.get(replica).get("connections"), after.get(replica).get("connections"));
+    }
+
+    private ReplicaRoutingDataSource routing() throws Exception {
+        return dataSource.unwrap(ReplicaRoutingDataSource.class);
+    }
+
+    // 주 DB 의 row 를 복제본마다 복사 (이름은 복제본 이름으로 바꿔서 어느 DB 에서 읽었는지 구분)
+    private void replicate(String table, String idColumn, Long id) {
+        Map<String, Object> row = primary.queryForMap("select * from " + table + " where " + idColumn + " = ?", id);
+        List<String> columns = new ArrayList<>(row.keySet());
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        replicas.forEach((name, replica) -> {
+            row.put("name", name);
+            replica.update(sql, columns.stream().map(row::get).toArray());
+        });
+    }
+
+    private static JdbcTemplate jdbcTemplate(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+}
@@ -0,0 +1,48 @@
+package jpabook.jpashop.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    @DisplayName(value = "Java 21 이상이면 스레드 팩토리 / 작업별 executor 모두 가상 스레드를 만든다.")
+    public void virtualThreadTest() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 Java 21 부터");
+
+        // when
+        Thread thread = VirtualThreads.threadFactory("test-").newThread(() -> {
+        });
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-task-");
+        Thread worker = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertTrue(VirtualThreads.isSupported());
+        assertTrue(VirtualThreads.isVirtual(thread));
+        assertEquals("test-0", thread.getName());
+        assertTrue(VirtualThreads.isVirtual(worker));
+    }
+
+    @Test
+    @DisplayName(value = "Java 21 미만이면 플랫폼(데몬) 스레드로 대신한다.")
+    public void platformThreadFallbackTest() throws Exception {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        // when
+        Thread thread = VirtualThreads.threadFactory("test-").newThread(() -> {
+        });
+
+        // then
+        assertFalse(VirtualThreads.isSupported());
+        assertFalse(VirtualThreads.isVirtual(thread));
+        assertTrue(thread.isDaemon());
+    }
+
+}
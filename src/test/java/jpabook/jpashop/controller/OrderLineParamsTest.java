@@ -0,0 +1,44 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.service.OrderLine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderLineParamsTest {
+
+    @Test
+    @DisplayName(value = "상품과 수량을 순서대로 주문 라인으로 묶는다.")
+    public void toOrderLinesTest() throws Exception {
+        // when
+        List<OrderLine> orderLines = OrderLineParams.toOrderLines(List.of(1L, 2L), List.of(3, 1));
+
+        // then
+        assertEquals(List.of(1L, 2L), orderLines.stream().map(OrderLine::getItemId).toList());
+        assertEquals(List.of(3, 1), orderLines.stream().map(OrderLine::getCount).toList());
+    }
+
+    @Test
+    @DisplayName(value = "개수가 다르거나 빈 상품 / 수량이 있으면 400 으로 거절한다.")
+    public void rejectInvalidParamsTest() throws Exception {
+        // when
+        ResponseStatusException mismatch = assertThrows(ResponseStatusException.class,
+                () -> OrderLineParams.toOrderLines(List.of(1L, 2L), List.of(1)));
+        ResponseStatusException blankCount = assertThrows(ResponseStatusException.class,
+                () -> OrderLineParams.toOrderLines(List.of(1L, 2L), Arrays.asList(1, null)));
+        ResponseStatusException blankItem = assertThrows(ResponseStatusException.class,
+                () -> OrderLineParams.toOrderLines(Arrays.asList(null, 2L), List.of(1, 1)));
+
+        // then
+        assertEquals(400, mismatch.getStatusCode().value());
+        assertEquals(400, blankCount.getStatusCode().value());
+        assertEquals("주문수량을 입력해야 합니다.", blankCount.getReason());
+        assertEquals(400, blankItem.getStatusCode().value());
+    }
+
+}
@@ -0,0 +1,74 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest @Transactional
+class PooledSequenceGeneratorTest {
+
+    private static final int MEMBERS = 30;
+    private static final int ALLOCATION_SIZE = 50;  // member_seq increment_size
+    private static final int BATCH_SIZE = 100;      // hibernate.jdbc.batch_size
+
+    @PersistenceContext EntityManager entityManager;
+
+    private Boolean statisticsEnabled; // enableStatistics 전 설정
+
+    // 다른 테스트에 영향이 없도록 원래 설정으로
+    @AfterEach
+    public void restoreStatistics() {
+        if (statisticsEnabled != null)
+            entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Test
+    @DisplayName(value = "시퀀스는 allocation size 마다 한번만 호출되고 insert 는 batch 로 나가야 한다.")
+    public void pooledSequenceBatchInsertTest() throws Exception {
+        // given
+        Statistics statistics = enableStatistics();
+
+        // when
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member();
+            member.setName("batch" + i);
+            entityManager.persist(member);
+            members.add(member);
+        }
+        entityManager.flush();
+
+        // then (앞선 테스트가 블록 일부를 쓴 상태면 블록 경계를 넘어 시퀀스를 한번 더 호출할 수 있음)
+        long sequenceCalls = ceilDiv(MEMBERS, ALLOCATION_SIZE) + 1;
+        long insertBatches = ceilDiv(MEMBERS, BATCH_SIZE);
+        assertEquals(MEMBERS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= sequenceCalls + insertBatches,
+                "시퀀스 호출은 블록마다 한번, insert 는 batch 로 나가야 한다. (" + statistics.getPrepareStatementCount() + " statements)");
+        for (int i = 1; i < members.size(); i++)
+            assertTrue(members.get(i - 1).getId() < members.get(i).getId(), "id 는 메모리에서 겹치지 않게 증가하며 할당된다.");
+    }
+
+    private static long ceilDiv(int value, int size) {
+        return (value + size - 1) / size;
+    }
+
+    private Statistics enableStatistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+}
@@ -0,0 +1,89 @@
+package jpabook.jpashop.monitoring;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 목록 화면의 요청당 SQL 수 고정 (데이터 건수가 늘어도 같아야 함)
+// 카테고리 하위 트리 상품 목록은 트리 스냅샷이 커밋 후에 갱신되어 CategoryServiceTest 에서 확인
+@SpringBootTest @Transactional
+class ListEndpointQueryCountTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired WebApplicationContext webApplicationContext;
+    @Autowired RequestMetrics requestMetrics;
+    @Autowired OrderRepository orderRepository;
+
+    @Test
+    @DisplayName(value = "주문 / 회원 / 상품 목록은 건수와 상관없이 요청당 SQL 1번")
+    public void listEndpointStatementsTest() throws Exception {
+        // given
+        for (int i = 0; i < 10; i++) {
+            Member member = createMember("목록" + i);
+            Book book = createBook("목록책" + i);
+            Delivery delivery = new Delivery();
+            delivery.setAddress(member.getAddress());
+            orderRepository.save(Order.createOrder(member, delivery,
+                    OrderItem.createOrderItem(book, 10000, 1), OrderItem.createOrderItem(book, 10000, 2)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        // when, then
+        assertEquals(1, statementsOf(mockMvc, "/orders", "GET /orders"));
+        assertEquals(1, statementsOf(mockMvc, "/members", "GET /members"));
+        assertEquals(1, statementsOf(mockMvc, "/items", "GET /items"));
+    }
+
+    private long statementsOf(MockMvc mockMvc, String uri, String endpoint) throws Exception {
+        long before = value(endpoint, "statements");
+        long requests = value(endpoint, "requests");
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        assertEquals(requests + 1, value(endpoint, "requests"));
+        return value(endpoint, "statements") - before;
+    }
+
+    private long value(String endpoint, String name) {
+        Map<String, Long> values = requestMetrics.snapshot().get(endpoint);
+        return values == null ? 0 : values.get(name);
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        entityManager.persist(member);
+        return member;
+    }
+
+    private Book createBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        entityManager.persist(book);
+        return book;
+    }
+
+}
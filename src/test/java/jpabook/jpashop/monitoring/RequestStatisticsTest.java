@@ -0,0 +1,153 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.exception.QueryLimitExceededException;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest @Transactional
+class RequestStatisticsTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired WebApplicationContext webApplicationContext;
+    @Autowired HotPathEndpoint hotPathEndpoint;
+    @Autowired RequestMetrics requestMetrics;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired MemberService memberService;
+    @Autowired OrderService orderService;
+
+    @Test
+    @DisplayName(value = "요청마다 SQL / 엔티티 로딩 수를 엔드포인트별로 집계하고, 서비스 메서드 시간을 잰다.")
+    public void recordPerEndpointTest() throws Exception {
+        // given
+        for (int i = 0; i < 3; i++)
+            createMember("통계" + i);
+        entityManager.flush();
+        entityManager.clear();
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        long before = requestCount("GET /members");
+
+        // when
+        mockMvc.perform(get("/members")).andExpect(status().isOk());
+        memberService.findMembers();
+
+        // then
+        Map<String, Long> members = requestMetrics.snapshot().get("GET /members");
+        assertEquals(before + 1, members.get("requests"));
+        assertTrue(members.get("statements") > 0);
+        assertNull(RequestStatistics.current(), "요청이 끝나면 ThreadLocal 을 비워야 한다.");
+
+        Timer timer = meterRegistry.find("jpashop.service").tag("class", "MemberService").tag("method", "findMembers").timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+        assertTrue(hotPathEndpoint.hotPath().containsKey("endpoints"));
+    }
+
+    @Test
+    @DisplayName(value = "엔티티 로딩 수를 센다.")
+    public void entityLoadTest() throws Exception {
+        // given
+        for (int i = 0; i < 3; i++)
+            createMember("로딩" + i);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        RequestStatistics statistics = RequestStatistics.begin(0, false);
+        try {
+            memberService.findMembers();
+        } finally {
+            RequestStatistics.end();
+        }
+
+        // then
+        assertEquals(1, statistics.getStatements());
+        assertTrue(statistics.getEntityLoads() >= 3);
+        assertFalse(statistics.isOverLimit());
+    }
+
+    @Test
+    @DisplayName(value = "fail 모드에서는 요청당 SQL 수 제한을 넘는 순간 실패한다.")
+    public void queryGuardFailTest() throws Exception {
+        // given
+        Long memberId = createMember("제한");
+        entityManager.flush();
+        entityManager.clear();
+
+        // when, then
+        RequestStatistics statistics = RequestStatistics.begin(1, true);
+        try {
+            memberService.findOne(memberId);
+            entityManager.clear();
+            assertThrows(QueryLimitExceededException.class, () -> memberService.findMembers());
+        } finally {
+            RequestStatistics.end();
+        }
+        assertTrue(statistics.isOverLimit());
+    }
+
+    @Test
+    @DisplayName(value = "샘플링된 요청만 SQL 과 파라미터를 남기고, 모든 SQL 은 종류별 실행 시간 히스토그램에 기록된다.")
+    public void sampledTraceTest() throws Exception {
+        // given
+        Long memberId = createMember("추적");
+        entityManager.flush();
+        entityManager.clear();
+        Timer selectTimer = meterRegistry.find("jpashop.sql").tag("type", "select").timer();
+        long selects = selectTimer == null ? 0 : selectTimer.count();
+
+        // when
+        RequestStatistics notSampled = RequestStatistics.begin(0, false, false);
+        try {
+            memberService.findOne(memberId);
+        } finally {
+            RequestStatistics.end();
+        }
+        entityManager.clear();
+        RequestStatistics sampled = RequestStatistics.begin(0, false, true);
+        try {
+            memberService.findOne(memberId);
+        } finally {
+            RequestStatistics.end();
+        }
+
+        // then
+        assertTrue(notSampled.getTrace().isEmpty());
+        assertEquals(1, sampled.getTrace().size());
+        assertTrue(sampled.getTrace().get(0).contains("[" + memberId + "]"), "바인딩 파라미터가 남아야 한다.");
+        assertEquals(selects + 2, meterRegistry.find("jpashop.sql").tag("type", "select").timer().count());
+    }
+
+    private long requestCount(String endpoint) {
+        Map<String, Long> values = requestMetrics.snapshot().get(endpoint);
+        return values == null ? 0 : values.get("requests");
+    }
+
+    private Long createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        entityManager.persist(member);
+        return member.getId();
+    }
+
+}
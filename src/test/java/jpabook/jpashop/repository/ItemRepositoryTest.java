@@ -0,0 +1,141 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemType;
+import jpabook.jpashop.domain.item.Movie;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest @Transactional
+class ItemRepositoryTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired ItemRepository itemRepository;
+
+    private Boolean statisticsEnabled; // enableStatistics 전 설정
+
+    // 다른 테스트에 영향이 없도록 원래 설정으로
+    @AfterEach
+    public void restoreStatistics() {
+        if (statisticsEnabled != null)
+            entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Test
+    @DisplayName(value = "상품 목록은 엔티티를 만들지 않고 공통 컬럼과 종류만 키셋 페이징으로 조회한다.")
+    public void findSummariesTest() throws Exception {
+        // given
+        Book book = new Book();
+        book.setAuthor("김영한");
+        Album album = new Album();
+        album.setArtist("아이유");
+        Movie movie = new Movie();
+        movie.setDirector("봉준호");
+        save(book, "JPA", 10000);
+        save(album, "앨범", 20000);
+        save(movie, "영화", 30000);
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemListSearch itemListSearch = new ItemListSearch();
+        itemListSearch.setAfter(book.getId() - 1); // 다른 테스트가 커밋한 상품 제외
+        itemListSearch.setSize(2);
+
+        Statistics statistics = enableStatistics();
+
+        // when
+        ItemSummaryPage first = itemRepository.findSummaries(itemListSearch);
+        itemListSearch.setAfter(first.getNextCursor());
+        ItemSummaryPage second = itemRepository.findSummaries(itemListSearch);
+
+        // then
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "상품 엔티티를 만들지 않아야 한다.");
+        assertEquals(List.of(book.getId(), album.getId()), first.getContent().stream().map(ItemSummary::getId).toList());
+        assertTrue(first.isHasNext());
+        assertEquals(List.of(ItemType.BOOK, ItemType.ALBUM), first.getContent().stream().map(ItemSummary::getItemType).toList());
+        ItemSummary last = second.getContent().get(0);
+        assertEquals(movie.getId(), last.getId());
+        assertEquals(ItemType.MOVIE, last.getItemType());
+        assertEquals("영화", last.getName());
+        assertEquals(30000, last.getPrice());
+    }
+
+    @Test
+    @DisplayName(value = "상세 조회는 종류별로 하고, 다른 종류의 상품이면 null 이다.")
+    public void findDetailTest() throws Exception {
+        // given
+        Book book = new Book();
+        book.setAuthor("김영한");
+        book.setIsbn("1234");
+        Album album = new Album();
+        album.setArtist("아이유");
+        save(book, "JPA", 10000);
+        save(album, "앨범", 20000);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Book foundBook = itemRepository.findDetail(book.getId(), Book.class);
+        Book notBook = itemRepository.findDetail(album.getId(), Book.class);
+        Album foundAlbum = itemRepository.findDetail(album.getId(), Album.class);
+
+        // then
+        assertEquals("김영한", foundBook.getAuthor());
+        assertEquals("1234", foundBook.getIsbn());
+        assertNull(notBook, "앨범을 책으로 조회하면 없어야 한다.");
+        assertEquals("아이유", foundAlbum.getArtist());
+        assertEquals(ItemType.ALBUM, itemRepository.findSummary(album.getId()).getItemType());
+    }
+
+    @Test
+    @DisplayName(value = "일괄 등록한 상품은 2차 캐시에 넣지 않고, 끝나면 세션 캐시 모드를 원래대로 되돌린다.")
+    public void persistAllRestoresCacheModeTest() throws Exception {
+        // given
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode before = session.getCacheMode();
+        Book book = new Book();
+        book.setName("일괄 등록");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+
+        // when
+        itemRepository.persistAll(List.of(book));
+
+        // then
+        assertEquals(before, session.getCacheMode(), "이후 조회는 원래 캐시 모드로 실행되어야 한다.");
+        assertFalse(entityManager.getEntityManagerFactory().getCache().contains(Item.class, book.getId()));
+    }
+
+    private void save(Item item, String name, int price) {
+        item.setName(name);
+        item.setPrice(price);
+        item.setStockQuantity(10);
+        itemRepository.save(item);
+    }
+
+    private Statistics enableStatistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+}
@@ -0,0 +1,112 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.MemberNameTrigramService;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "jpashop.order.search.trigram.enabled=true")
+@Transactional
+class MemberNameTrigramTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired MemberService memberService;
+    @Autowired MemberNameTrigramService memberNameTrigramService;
+    @Autowired OrderRepository orderRepository;
+
+    @Test
+    @DisplayName(value = "회원가입시 trigram 이 저장되고, 포함 검색은 trigram 후보를 LIKE 로 확인한다.")
+    public void containsSearchTest() throws Exception {
+        // given
+        Book book = createBook();
+        for (String name : List.of("kimchi", "parkkim", "imk kim", "lee"))
+            createOrder(join(name), book);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when, then
+        assertEquals(4L, countTrigrams("kimchi"), "kim, imc, mch, chi");
+        assertEquals(List.of("imk kim", "parkkim", "kimchi"), memberNames(contains("kim")));
+        assertEquals(List.of("kimchi"), memberNames(contains("kimc")));
+        assertTrue(contains("kimk").isEmpty(), "trigram(kim, imk) 은 모두 있지만 이어져 있지 않으면 LIKE 에서 걸러진다.");
+        assertEquals(List.of("imk kim", "parkkim", "kimchi"), memberNames(contains("ki")), "trigram 보다 짧은 검색어는 LIKE 로만 검색");
+    }
+
+    @Test
+    @DisplayName(value = "trigram 인덱스 재생성")
+    public void rebuildTest() throws Exception {
+        // given
+        Member member = new Member();
+        member.setName("choikim");  // 회원가입을 거치지 않아 trigram 이 없는 회원
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        entityManager.persist(member);
+        createOrder(member, createBook());
+        entityManager.flush();
+        assertTrue(contains("oik").isEmpty());
+
+        // when
+        int indexed = memberNameTrigramService.rebuild();
+
+        // then
+        assertEquals(1, indexed);
+        assertEquals(List.of("choikim"), memberNames(contains("oik")));
+    }
+
+    private List<OrderSummaryDto> contains(String memberName) {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName(memberName);
+        orderSearch.setNameMatch(NameMatch.CONTAINS);
+        List<OrderSummaryDto> summaries = orderRepository.findOrderSummaries(orderSearch).getContent();
+        assertEquals(summaries.size(), orderRepository.findAllByNamedQuery(orderSearch).size());
+        return summaries;
+    }
+
+    private List<String> memberNames(List<OrderSummaryDto> summaries) {
+        return summaries.stream().map(OrderSummaryDto::getMemberName).toList();
+    }
+
+    private long countTrigrams(String memberName) {
+        return entityManager.createQuery("select count(t) from MemberNameTrigram t, Member m where t.memberId = m.id and m.name = :name", Long.class)
+                .setParameter("name", memberName)
+                .getSingleResult();
+    }
+
+    private Member join(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        memberService.join(member);
+        return member;
+    }
+
+    private Book createBook() {
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        entityManager.persist(book);
+        return book;
+    }
+
+    private void createOrder(Member member, Book book) {
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        orderRepository.save(Order.createOrder(member, delivery, OrderItem.createOrderItem(book, 10000, 1)));
+    }
+
+}
@@ -0,0 +1,160 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest @Transactional
+class MemberRepositoryTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired MemberRepository memberRepository;
+
+    private Boolean statisticsEnabled; // enableStatistics 전 설정
+
+    // 다른 테스트에 영향이 없도록 원래 설정으로
+    @AfterEach
+    public void restoreStatistics() {
+        if (statisticsEnabled != null)
+            entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+    // 다른 테스트가 커밋한 회원이 남아 있을 수 있어서, 첫 페이지를 이 테스트 회원 바로 앞 커서부터 읽음
+    @Test
+    @DisplayName(value = "회원 목록 키셋 페이징은 엔티티를 영속성 컨텍스트에 올리지 않는다.")
+    public void findMemberSummariesKeysetTest() throws Exception {
+        // given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            members.add(createMember("키셋회원" + i, "서울"));
+        entityManager.flush();
+        entityManager.clear();
+        Long firstId = members.get(0).getId();
+        boolean olderMembers = entityManager.createQuery("select count(m) from Member m where m.id < :id", Long.class)
+                .setParameter("id", firstId)
+                .getSingleResult() > 0;
+
+        MemberSearch memberSearch = new MemberSearch();
+        memberSearch.setSize(2);
+
+        // when
+        memberSearch.setAfter(firstId - 1);
+        MemberSummaryPage first = memberRepository.findMemberSummaries(memberSearch);
+        memberSearch.setAfter(first.getNextCursor());
+        MemberSummaryPage second = memberRepository.findMemberSummaries(memberSearch);
+        memberSearch.setAfter(null);
+        memberSearch.setBefore(second.getPrevCursor());
+        MemberSummaryPage back = memberRepository.findMemberSummaries(memberSearch);
+
+        // then
+        assertEquals(List.of("키셋회원0", "키셋회원1"), names(first.getContent()));
+        assertTrue(first.isHasNext());
+        assertEquals(List.of("키셋회원2", "키셋회원3"), names(second.getContent()));
+        assertTrue(second.isHasPrev());
+        assertEquals(names(first.getContent()), names(back.getContent()));
+        assertEquals(olderMembers, back.isHasPrev(), "이 테스트 회원보다 앞선 회원이 있을 때만 이전 페이지가 있다.");
+        assertEquals("서울", first.getContent().get(0).getCity());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(), "DTO 조회라 관리되는 엔티티가 없어야 한다.");
+    }
+
+    // 다른 테스트가 커밋한 회원(kim 등) 과 겹치지 않도록 이 테스트만 쓰는 접두어로 검색
+    @Test
+    @DisplayName(value = "회원 이름 앞부분 검색, LIKE 와일드카드는 문자 그대로 검색")
+    public void searchByNamePrefixTest() throws Exception {
+        // given
+        createMember("접두어-kim", "서울");
+        createMember("접두어-kimchi", "부산");
+        createMember("접두어-lee", "대구");
+        createMember("접두어-k_m", "대전");
+        entityManager.flush();
+
+        // when
+        List<MemberSummaryDto> kims = memberRepository.searchByNamePrefix("접두어-kim", 10);
+        List<MemberSummaryDto> escaped = memberRepository.searchByNamePrefix("접두어-k_", 10);
+        List<MemberSummaryDto> limited = memberRepository.searchByNamePrefix("접두어-k", 1);
+
+        // then
+        assertEquals(List.of("접두어-kim", "접두어-kimchi"), names(kims));
+        assertEquals(List.of("접두어-k_m"), names(escaped));
+        assertEquals(1, limited.size());
+        assertTrue(memberRepository.searchByNamePrefix(" ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "회원 목록에서 주문을 읽을 때 엔티티 그래프면 쿼리 1번, 그래프가 없으면 batch 로 1번 더")
+    public void findAllFetchTest() throws Exception {
+        // given
+        List<String> names = List.of("배치0", "배치1", "배치2");
+        for (String name : names) {
+            Member member = createMember(name, "서울");
+            for (int i = 0; i < 2; i++) {
+                Delivery delivery = new Delivery();
+                delivery.setAddress(member.getAddress());
+                entityManager.persist(Order.createOrder(member, delivery));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = enableStatistics();
+
+        // when
+        List<Member> withGraph = memberRepository.findAll(Member.GRAPH_ORDERS).stream()
+                .filter(member -> names.contains(member.getName()))
+                .toList();
+        int graphOrders = withGraph.stream().mapToInt(member -> member.getOrders().size()).sum();
+        long graphStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        List<Member> batched = entityManager.createQuery("select m from Member m where m.name in :names", Member.class)
+                .setParameter("names", names)
+                .getResultList();
+        int batchedOrders = batched.stream().mapToInt(member -> member.getOrders().size()).sum();
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        // then
+        assertEquals(6, graphOrders);
+        assertEquals(1, graphStatements, "회원과 주문을 join fetch 로 한번에 조회해야 한다.");
+        assertEquals(6, batchedOrders);
+        assertEquals(2, batchedStatements, "회원별 주문 컬렉션은 in 쿼리 한번으로 초기화해야 한다.");
+    }
+
+    private List<String> names(List<MemberSummaryDto> members) {
+        return members.stream().map(MemberSummaryDto::getName).toList();
+    }
+
+    private Member createMember(String name, String city) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address(city, "거리", "12345"));
+        entityManager.persist(member);
+        return member;
+    }
+
+    private Statistics enableStatistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+}
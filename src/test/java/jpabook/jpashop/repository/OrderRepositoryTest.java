@@ -0,0 +1,272 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.item.Book;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest @Transactional
+class OrderRepositoryTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired OrderRepository orderRepository;
+
+    private Boolean statisticsEnabled; // enableStatistics 전 설정
+
+    // 다른 테스트에 영향이 없도록 원래 설정으로
+    @AfterEach
+    public void restoreStatistics() {
+        if (statisticsEnabled != null)
+            entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Test
+    @DisplayName(value = "주문 목록 DTO 조회는 주문 건수와 상관없이 order_summary 쿼리 1번")
+    public void findOrderSummariesQueryCountTest() throws Exception {
+        // given
+        Book jpaBook = createBook("JPA", 10000, 100);
+        Book springBook = createBook("SPRING", 20000, 100);
+        for (int i = 0; i < 5; i++) {
+            Member member = createMember("회원" + i);
+            createOrder(member, OrderItem.createOrderItem(jpaBook, 10000, i + 1),
+                    OrderItem.createOrderItem(springBook, 20000, 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = enableStatistics();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName("회원"); // 다른 테스트가 커밋한 주문 제외
+
+        // when
+        List<OrderSummaryDto> summaries = orderRepository.findOrderSummaries(orderSearch).getContent();
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount(), "order_summary 쿼리 1번만 나가야 한다.");
+        assertEquals(0, statistics.getCollectionFetchCount(), "주문상품 컬렉션을 읽지 않아야 한다.");
+        assertEquals(5, summaries.size());
+        OrderSummaryDto latest = summaries.get(0);
+        assertEquals("회원4", latest.getMemberName());
+        assertEquals("JPA", latest.getItemName(), "대표상품은 첫번째 주문상품이다.");
+        assertEquals(10000 * 5 + 20000, latest.getTotalPrice());
+        assertEquals(2, latest.getItemCount());
+        assertEquals(OrderStatus.ORDER, latest.getStatus());
+    }
+
+    @Test
+    @DisplayName(value = "주문 목록 키셋 페이징")
+    public void findOrderSummariesKeysetTest() throws Exception {
+        // given
+        Book book = createBook("JPA", 10000, 100);
+        Member member = createMember("회원1");
+        for (int i = 0; i < 5; i++)
+            createOrder(member, OrderItem.createOrderItem(book, 10000, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName("회원1");
+        orderSearch.setSize(2);
+
+        // when
+        OrderSummaryPage first = orderRepository.findOrderSummaries(orderSearch);
+        orderSearch.setAfter(first.getNextCursor());
+        OrderSummaryPage second = orderRepository.findOrderSummaries(orderSearch);
+        orderSearch.setAfter(second.getNextCursor());
+        OrderSummaryPage last = orderRepository.findOrderSummaries(orderSearch);
+        orderSearch.setAfter(null);
+        orderSearch.setBefore(last.getPrevCursor());
+        OrderSummaryPage back = orderRepository.findOrderSummaries(orderSearch);
+
+        // then
+        assertTrue(first.isHasNext());
+        assertFalse(first.isHasPrev());
+        assertTrue(first.getContent().get(0).getOrderId() > first.getContent().get(1).getOrderId(), "최신 주문이 먼저 조회된다.");
+        assertEquals(2, second.getContent().size());
+        assertTrue(second.getContent().get(0).getOrderId() < first.getNextCursor());
+        assertEquals(1, last.getContent().size());
+        assertFalse(last.isHasNext());
+        assertEquals(second.getContent().get(0).getOrderId(), back.getContent().get(0).getOrderId(), "이전 페이지는 직전 페이지와 같아야 한다.");
+        assertEquals(second.getContent().get(1).getOrderId(), back.getContent().get(1).getOrderId());
+        assertTrue(back.isHasPrev());
+    }
+
+    @Test
+    @DisplayName(value = "named query 검색은 조건 조합마다 문자열 JPQL / Criteria 와 같은 결과를 내고, 쿼리를 다시 파싱하지 않는다.")
+    public void findAllByNamedQueryTest() throws Exception {
+        // given
+        Book book = createBook("JPA", 10000, 100);
+        Member kim = createMember("named-kim"); // 다른 테스트가 커밋한 회원과 겹치지 않는 이름
+        Member lee = createMember("named-lee");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            orders.add(createOrder(kim, OrderItem.createOrderItem(book, 10000, 1)));
+            orders.add(createOrder(lee, OrderItem.createOrderItem(book, 10000, 1)));
+        }
+        orders.get(0).cancel();
+        entityManager.flush();
+        entityManager.clear();
+        Long cursor = orders.get(4).getId(); // 다음 페이지 : 이 테스트의 주문 중 앞의 4건만 남도록
+        Long before = orders.get(1).getId(); // 이전 페이지 : 이 테스트의 주문 중 뒤의 4건부터
+
+        // 상태 x 회원 이름 x 커서(없음 / 다음 / 이전)
+        List<OrderSearch> searches = new ArrayList<>();
+        for (int shape = 0; shape < 12; shape++) {
+            OrderSearch orderSearch = new OrderSearch();
+            if ((shape & 1) != 0)
+                orderSearch.setOrderStatus(OrderStatus.ORDER);
+            if ((shape & 2) != 0)
+                orderSearch.setMemberName("named-kim");
+            if (shape >> 2 == 1)
+                orderSearch.setAfter(cursor);
+            else if (shape >> 2 == 2)
+                orderSearch.setBefore(before);
+            searches.add(orderSearch);
+        }
+
+        // when (문자열 JPQL 을 실행하기 전에 named query 만으로 통계를 봄)
+        Statistics statistics = enableStatistics();
+        List<List<Long>> actual = searches.stream().map(orderSearch -> ids(orderRepository.findAllByNamedQuery(orderSearch))).toList();
+        long namedQueryMisses = statistics.getQueryPlanCacheMissCount();
+        List<List<Long>> expected = searches.stream().map(orderSearch -> ids(orderRepository.findAllByString(orderSearch))).toList();
+        List<List<Long>> criteria = searches.stream().map(orderSearch -> ids(orderRepository.findAllByCriteria(orderSearch))).toList();
+
+        // then
+        assertEquals(0, namedQueryMisses, "시작할 때 등록한 쿼리를 다시 파싱하지 않아야 한다.");
+        assertEquals(expected, actual);
+        assertEquals(expected, criteria);
+        assertTrue(actual.stream().noneMatch(List::isEmpty), "모든 조건 조합이 결과를 내야 비교가 의미가 있다.");
+        assertEquals(List.of(orders.get(2).getId()), ids(orderRepository.findAllByNamedQuery(searches.get(7))),
+                "kim + 주문 상태 + 커서 : 취소된 첫 주문과 커서 이후 주문은 빠진다.");
+        assertEquals(List.of(orders.get(4).getId(), orders.get(2).getId()), ids(orderRepository.findAllByNamedQuery(searches.get(11))),
+                "kim + 주문 상태 + 이전 페이지 : 커서보다 최신 주문만, 다른 페이지처럼 최신 주문부터");
+    }
+
+    @Test
+    @DisplayName(value = "회원 이름 검색은 앞부분 / 포함 방식을 지원하고, 와일드카드 문자는 그대로 검색한다.")
+    public void memberNameMatchTest() throws Exception {
+        // given
+        Book book = createBook("JPA", 10000, 100);
+        for (String name : List.of("kim", "kimchi", "park kim", "k%m"))
+            createOrder(createMember(name), OrderItem.createOrderItem(book, 10000, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when, then
+        assertEquals(List.of("kimchi", "kim"), memberNames(search("kim", NameMatch.PREFIX)));
+        assertEquals(List.of("park kim", "kimchi", "kim"), memberNames(search("kim", NameMatch.CONTAINS)));
+        assertEquals(List.of("k%m"), memberNames(search("k%", NameMatch.PREFIX)));
+
+        OrderSearch contains = new OrderSearch();
+        contains.setMemberName("kim");
+        contains.setNameMatch(NameMatch.CONTAINS);
+        assertEquals(3, orderRepository.findAllByString(contains).size());
+        assertEquals(3, orderRepository.findAllByCriteria(contains).size());
+        assertEquals(3, orderRepository.findAllByNamedQuery(contains).size());
+    }
+
+    @Test
+    @DisplayName(value = "주문 검색 결과를 돌면서 회원 / 배송 / 주문상품 / 상품을 읽어도 주문 건수와 상관없이 쿼리 3번")
+    public void findAllByNamedQueryFetchTest() throws Exception {
+        // given
+        for (int i = 0; i < 5; i++) {
+            Member member = createMember("그래프" + i);
+            createOrder(member, OrderItem.createOrderItem(createBook("그래프책" + i, 10000, 100), 10000, 1),
+                    OrderItem.createOrderItem(createBook("그래프책" + (i + 5), 20000, 100), 20000, 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName("그래프");
+
+        Statistics statistics = enableStatistics();
+
+        // when
+        List<Order> orders = orderRepository.findAllByNamedQuery(orderSearch, Order.GRAPH_MEMBER_DELIVERY);
+        long searchStatements = statistics.getPrepareStatementCount();
+        int itemCount = 0;
+        for (Order order : orders) {
+            assertTrue(order.getMember().getName().startsWith("그래프"));
+            assertNotNull(order.getDelivery().getAddress());
+            for (OrderItem orderItem : order.getOrderItems()) {
+                assertTrue(orderItem.getItem().getName().startsWith("그래프책"));
+                itemCount++;
+            }
+        }
+
+        // then
+        assertEquals(5, orders.size());
+        assertEquals(10, itemCount);
+        assertEquals(1, searchStatements, "회원 / 배송은 엔티티 그래프로 같이 조회해야 한다.");
+        assertEquals(3, statistics.getPrepareStatementCount(), "주문상품은 subselect 한번, 상품은 batch 한번이어야 한다.");
+    }
+
+    private List<OrderSummaryDto> search(String memberName, NameMatch nameMatch) {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName(memberName);
+        orderSearch.setNameMatch(nameMatch);
+        return orderRepository.findOrderSummaries(orderSearch).getContent();
+    }
+
+    private List<String> memberNames(List<OrderSummaryDto> summaries) {
+        return summaries.stream().map(OrderSummaryDto::getMemberName).toList();
+    }
+
+    private List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        entityManager.persist(member);
+        return member;
+    }
+
+    private Book createBook(String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        entityManager.persist(book);
+        return book;
+    }
+
+    private Order createOrder(Member member, OrderItem... orderItems) {
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        Order order = Order.createOrder(member, delivery, orderItems);
+        orderRepository.save(order);
+        return order;
+    }
+
+    private Statistics enableStatistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+}
@@ -0,0 +1,118 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.OrderQueueFullException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 워커 스레드에서 커밋된 데이터를 봐야 하기 때문에 테스트 트랜잭션 없이 실행
+// 커밋된 데이터가 다른 테스트에 보이지 않도록 테스트 후 컨텍스트(DB) 를 버림.
+@SpringBootTest @DirtiesContext
+class AsyncOrderServiceTest {
+
+    @Autowired AsyncOrderService asyncOrderService;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+
+    @Test
+    @DisplayName(value = "비동기 주문은 접수 후 워커가 처리하고 접수표에 주문번호가 기록된다.")
+    public void completedTicketTest() throws Exception {
+        // given
+        Long memberId = createMember();
+        Long itemId = createBook(10);
+
+        // when
+        OrderTicket ticket = asyncOrderService.submit(memberId, List.of(new OrderLine(itemId, 2)));
+        awaitDone(ticket);
+
+        // then
+        assertEquals(OrderTicketStatus.COMPLETED, ticket.getStatus());
+        assertNotNull(ticket.getOrderId());
+        assertSame(ticket, asyncOrderService.findTicket(ticket.getTicketId()));
+        assertEquals(8, itemService.findOne(itemId).getStockQuantity());
+    }
+
+    @Test
+    @DisplayName(value = "처리 중 예외가 나면 접수표는 실패 상태와 사유를 가진다.")
+    public void failedTicketTest() throws Exception {
+        // given
+        Long memberId = createMember();
+
+        // when
+        OrderTicket ticket = asyncOrderService.submit(memberId, List.of(new OrderLine(-1L, 1)));
+        awaitDone(ticket);
+
+        // then
+        assertEquals(OrderTicketStatus.FAILED, ticket.getStatus());
+        assertEquals("존재하지 않는 상품입니다.", ticket.getMessage());
+        assertNull(ticket.getOrderId());
+    }
+
+    @Test
+    @DisplayName(value = "대기열이 가득 차면 접수를 거절하고, 접수된 주문은 모두 처리된다.")
+    public void queueFullTest() throws Exception {
+        // given
+        Long memberId = createMember();
+        Long itemId = createBook(1000);
+        // 대기열 2칸, 동시 처리 1개 (별도 컨텍스트를 띄우지 않고 직접 생성)
+        AsyncOrderService smallQueue = new AsyncOrderService(orderService, 2, 1, 600);
+        smallQueue.start();
+
+        // when
+        List<OrderTicket> accepted = new ArrayList<>();
+        int rejected = 0;
+        try {
+            for (int i = 0; i < 50; i++) {
+                try {
+                    accepted.add(smallQueue.submit(memberId, List.of(new OrderLine(itemId, 1))));
+                } catch (OrderQueueFullException e) {
+                    rejected++;
+                }
+            }
+            for (OrderTicket ticket : accepted)
+                awaitDone(ticket);
+        } finally {
+            smallQueue.stop();
+        }
+
+        // then
+        assertTrue(rejected > 0, "대기열 크기를 넘는 주문은 거절되어야 한다.");
+        assertEquals(50, accepted.size() + rejected);
+        assertTrue(accepted.stream().allMatch(ticket -> ticket.getStatus() == OrderTicketStatus.COMPLETED));
+        assertEquals(1000 - accepted.size(), itemService.findOne(itemId).getStockQuantity());
+    }
+
+    private void awaitDone(OrderTicket ticket) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!ticket.isDone() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertTrue(ticket.isDone(), "주문이 제시간에 처리되지 않았다.");
+    }
+
+    private Long createMember() {
+        Member member = new Member();
+        member.setName("async-" + UUID.randomUUID());
+        return memberService.join(member);
+    }
+
+    private Long createBook(int stockQuantity) {
+        Book book = new Book();
+        book.setName("비동기 책");
+        book.setPrice(10000);
+        book.setStockQuantity(stockQuantity);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+
+}
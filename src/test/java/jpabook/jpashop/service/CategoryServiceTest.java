@@ -0,0 +1,113 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 트리 스냅샷은 커밋된 후에 다시 만들어지기 때문에 테스트 트랜잭션 없이 실행
+// 커밋된 데이터가 다른 테스트에 보이지 않도록 테스트 후 컨텍스트(DB) 를 버림.
+@SpringBootTest @DirtiesContext
+class CategoryServiceTest {
+
+    @Autowired CategoryService categoryService;
+    @Autowired ItemService itemService;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Boolean statisticsEnabled; // enableStatistics 전 설정
+
+    // 다른 테스트에 영향이 없도록 원래 설정으로
+    @AfterEach
+    public void restoreStatistics() {
+        if (statisticsEnabled != null)
+            entityManagerFactory.unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Test
+    @DisplayName(value = "하위 카테고리까지 포함한 상품을 깊이와 상관없이 쿼리 한번으로 조회한다.")
+    public void findItemsInSubtreeTest() throws Exception {
+        // given
+        Long books = categoryService.createCategory("도서", null);
+        Long fiction = categoryService.createCategory("소설", books);
+        Long sf = categoryService.createCategory("SF", fiction);
+        Long science = categoryService.createCategory("과학", books);
+        Long dune = createBook("듄");
+        Long novel = createBook("소설책");
+        Long physics = createBook("물리학");
+        categoryService.addItem(sf, dune);
+        categoryService.addItem(fiction, novel);
+        categoryService.addItem(science, physics);
+        categoryService.addItem(books, dune); // 여러 카테고리에 속해도 한번만
+
+        categoryService.getTree(); // 스냅샷 적재
+        Statistics statistics = enableStatistics();
+
+        // when
+        List<Item> all = categoryService.findItems(books);
+        long statements = statistics.getPrepareStatementCount();
+        List<Item> fictionItems = categoryService.findItems(fiction);
+
+        // then
+        assertEquals(1, statements, "하위 트리 상품 조회는 쿼리 1번이어야 한다.");
+        assertEquals(List.of(dune, novel, physics), ids(all));
+        assertEquals(List.of(dune, novel), ids(fictionItems));
+        assertEquals(List.of(dune), ids(categoryService.findItems(sf)));
+    }
+
+    @Test
+    @DisplayName(value = "카테고리가 추가되면 커밋 후 트리 스냅샷을 다시 만든다.")
+    public void treeSnapshotTest() throws Exception {
+        // given
+        Long root = categoryService.createCategory("전자제품", null);
+        Long computer = categoryService.createCategory("컴퓨터", root);
+        CategoryTree before = categoryService.getTree();
+        assertSame(before, categoryService.getTree(), "바뀐 것이 없으면 같은 스냅샷을 쓴다.");
+
+        // when
+        Long laptop = categoryService.createCategory("노트북", computer);
+        CategoryTree after = categoryService.getTree();
+
+        // then
+        assertNotSame(before, after);
+        assertNull(before.find(laptop), "이전 스냅샷은 바뀌지 않는다.");
+        CategoryTree.Node laptopNode = after.find(laptop);
+        assertEquals("/" + root + "/" + computer + "/" + laptop + "/", laptopNode.getPath());
+        assertEquals(2, laptopNode.getDepth());
+        assertEquals(List.of(laptop), after.find(computer).getChildren().stream().map(CategoryTree.Node::getId).toList());
+        assertTrue(after.getRoots().stream().anyMatch(node -> node.getId().equals(root)));
+        assertThrows(UnsupportedOperationException.class, () -> after.getRoots().clear());
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+
+    private Long createBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+
+    private Statistics enableStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+}
@@ -0,0 +1,60 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 2차 캐시는 커밋 이후에 채워지기 때문에 @Transactional 을 사용하지 않음.
+@SpringBootTest @DirtiesContext
+class ItemCacheTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired ItemService itemService;
+
+    @Test
+    @DisplayName(value = "상품 조회는 2차 캐시를 사용하고, 수정하면 캐시에서 제거된다.")
+    public void itemSecondLevelCacheTest() throws Exception {
+        // given
+        Book book = new Book();
+        book.setName("시골 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        itemService.findOne(book.getId()); // 캐시 적재
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(Item.CACHE_REGION);
+
+        // when
+        Item cached = itemService.findOne(book.getId());
+
+        // then
+        assertEquals("시골 JPA", cached.getName());
+        assertEquals(1, regionStatistics.getHitCount(), "두번째 조회는 캐시에서 가져와야 한다.");
+        assertEquals(0, statistics.getPrepareStatementCount(), "DB 를 조회하지 않아야 한다.");
+
+        // when
+        itemService.updateItem(book.getId(), "시골 JPA 2판", 20000, 5);
+        statistics.clear();
+        Item updated = itemService.findOne(book.getId());
+
+        // then
+        assertEquals("시골 JPA 2판", updated.getName());
+        regionStatistics = statistics.getDomainDataRegionStatistics(Item.CACHE_REGION);
+        assertEquals(1, regionStatistics.getMissCount(), "수정 후에는 캐시에서 제거되어 다시 조회해야 한다.");
+    }
+
+}
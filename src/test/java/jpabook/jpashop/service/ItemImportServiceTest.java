@@ -0,0 +1,86 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// chunk 마다 커밋되기 때문에 테스트 트랜잭션 없이 실행
+@SpringBootTest(properties = "jpashop.item.import.chunk-size=2")
+@DirtiesContext
+class ItemImportServiceTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired ItemImportService itemImportService;
+
+    @Test
+    @DisplayName(value = "CSV 일괄 등록에서 잘못된 줄은 건너뛰고 나머지는 저장된다.")
+    public void importCsvTest() throws Exception {
+        // given
+        String tooLongName = "x".repeat(300); // DB 컬럼 길이 초과 --> chunk 실패 후 한 건씩 재시도
+        String csv = """
+                dtype,name,price,stockQuantity,author,isbn
+                B,"CSV 책, 1",10000,10,김영한,1111
+                B,CSV 책 2,-1,10,김영한,2222
+                B,%s,10000,10,김영한,3333
+                B,CSV 책 3,20000,5,"say \"\"hi\"\"",4444
+                X,CSV 책 4,10000,10,,
+                """.formatted(tooLongName);
+
+        // when
+        ItemImportResult result = itemImportService.importItems(new StringReader(csv), ItemImportFormat.CSV);
+
+        // then
+        assertEquals(5, result.getTotalRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(3, result.getFailedRows());
+        assertEquals(3, result.getFailures().get(0).getLine(), "가격이 음수인 줄");
+
+        Book book = entityManager.createQuery("select b from Book b where b.name = :name", Book.class)
+                .setParameter("name", "CSV 책 3")
+                .getSingleResult();
+        assertEquals("say \"hi\"", book.getAuthor());
+        assertEquals(1L, countItems("CSV 책, 1"));
+    }
+
+    @Test
+    @DisplayName(value = "NDJSON 일괄 등록")
+    public void importNdjsonTest() throws Exception {
+        // given
+        String ndjson = """
+                {"dtype":"A","name":"JSON 앨범","price":15000,"stockQuantity":3,"artist":"아이유"}
+                {"dtype":"M","name":"JSON 영화","price":12000,"stockQuantity":7,"director":"봉준호"}
+                {"dtype":"B","name":"JSON 책","price":"abc","stockQuantity":1}
+                not json
+                """;
+
+        // when
+        ItemImportResult result = itemImportService.importItems(new StringReader(ndjson), ItemImportFormat.NDJSON);
+
+        // then
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(2, result.getFailedRows());
+        Album album = entityManager.createQuery("select a from Album a where a.name = :name", Album.class)
+                .setParameter("name", "JSON 앨범")
+                .getSingleResult();
+        assertEquals("아이유", album.getArtist());
+        assertEquals(15000, album.getPrice());
+    }
+
+    private long countItems(String name) {
+        return entityManager.createQuery("select count(i) from Item i where i.name = :name", Long.class)
+                .setParameter("name", name)
+                .getSingleResult();
+    }
+
+}
@@ -0,0 +1,134 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.ItemType;
+import jpabook.jpashop.domain.item.Movie;
+import jpabook.jpashop.repository.ItemSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 커밋된 후에 색인되기 때문에 테스트 트랜잭션 없이 실행 (테스트마다 겹치지 않는 검색어)
+// 커밋된 데이터가 다른 테스트에 보이지 않도록 테스트 후 컨텍스트(DB) 를 버림.
+@SpringBootTest @DirtiesContext
+class ItemSearchServiceTest {
+
+    @Autowired ItemSearchService itemSearchService;
+    @Autowired ItemService itemService;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName(value = "등록 / 수정이 커밋되면 바로 검색되고, 상품명이 일치하면 다른 필드보다 먼저 나온다.")
+    public void incrementalIndexTest() throws Exception {
+        // given
+        String word = uniqueWord();
+        Long byAuthor = createBook("자바 입문", word + " kim", "978-89-1111-" + word.substring(1, 4)).getId();
+        Long byName = createBook(word + " 완벽 가이드", "lee", null).getId();
+        Movie movie = new Movie();
+        movie.setName("영화");
+        movie.setDirector(word);
+        itemService.saveItem(movie);
+
+        // when
+        ItemSearchResult result = itemSearchService.search(word, 0, 10);
+
+        // then
+        assertEquals(3, result.getTotal());
+        assertEquals(byName, result.getHits().get(0).getItemId(), "상품명 일치가 가장 먼저 나온다.");
+        assertEquals(List.of(byAuthor), ids(itemSearchService.search(word + " KIM", 0, 10)), "검색어가 모두 일치하는 상품만 나온다.");
+        assertEquals(List.of(byAuthor), ids(itemSearchService.search("978891111" + word.substring(1, 4), 0, 10)), "isbn 은 하이픈 없이도 검색된다.");
+        assertEquals(List.of(byName), ids(itemSearchService.search(word.substring(0, 5) + " 완벽", 0, 10)), "앞부분만 입력해도 검색된다.");
+
+        itemService.updateItem(byName, "다른 이름", 1000, 10);
+        assertEquals(2, itemSearchService.search(word, 0, 10).getTotal(), "수정 전 상품명으로는 검색되지 않는다.");
+        assertTrue(ids(itemSearchService.search("다른 이름", 0, 100)).contains(byName), "수정한 상품명으로 검색된다.");
+    }
+
+    @Test
+    @DisplayName(value = "롤백된 상품은 색인되지 않는다.")
+    public void rollbackTest() throws Exception {
+        // given
+        String word = uniqueWord();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            createBook(word, "kim", null);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertEquals(0, itemSearchService.search(word, 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName(value = "검색 결과는 페이지로 나누어지고, DB 에서 다시 만든 색인도 같은 결과를 낸다.")
+    public void pagingAndRebuildTest() throws Exception {
+        // given
+        String word = uniqueWord();
+        for (int i = 0; i < 25; i++)
+            createBook(word + " " + i, "author", null);
+        List<Long> before = ids(itemSearchService.search(word, 0, 100));
+
+        // when
+        ItemSearchResult first = itemSearchService.search(word, 0, 10);
+        ItemSearchResult last = itemSearchService.search(word, 2, 10);
+        int rebuilt = itemSearchService.rebuild();
+
+        // then
+        assertEquals(25, first.getTotal());
+        assertEquals(10, first.getHits().size());
+        assertTrue(first.isHasNext());
+        assertEquals(5, last.getHits().size());
+        assertFalse(last.isHasNext());
+        assertEquals(before.subList(20, 25), ids(last));
+        assertTrue(rebuilt >= 25);
+        assertEquals(rebuilt, itemSearchService.size());
+        assertEquals(before, ids(itemSearchService.search(word, 0, 100)));
+    }
+
+    @Test
+    @DisplayName(value = "화면용 검색 결과는 검색 점수 순서 그대로 공통 컬럼만 담은 상품 목록이다.")
+    public void searchItemsTest() throws Exception {
+        // given
+        String word = uniqueWord();
+        Long byAuthor = createBook("자바 입문", word, null).getId();
+        Long byName = createBook(word + " 완벽 가이드", "lee", null).getId();
+
+        // when
+        List<ItemSummary> items = itemSearchService.searchItems(word, 0, 10);
+
+        // then
+        assertEquals(List.of(byName, byAuthor), items.stream().map(ItemSummary::getId).toList());
+        assertEquals(word + " 완벽 가이드", items.get(0).getName());
+        assertEquals(ItemType.BOOK, items.get(0).getItemType());
+    }
+
+    private List<Long> ids(ItemSearchResult result) {
+        return result.getHits().stream().map(ItemSearchHit::getItemId).toList();
+    }
+
+    // 글자로 시작하는 겹치지 않는 검색어
+    private String uniqueWord() {
+        return "w" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+
+    private Book createBook(String name, String author, String isbn) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        itemService.saveItem(book);
+        return book;
+    }
+
+}
@@ -5,15 +5,22 @@ import jakarta.persistence.PersistenceContext;
 import jpabook.jpashop.domain.item.Book;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 
-@SpringBootTest
+@SpringBootTest @Transactional // 변경감지 결과가 커밋되어 다른 테스트에 남지 않도록 롤백
 public class ItemUpdateTest {
 
     @PersistenceContext EntityManager em;
 
     @Test
     public void updateTest() throws Exception {
-        Book book = em.find(Book.class, 1L);
+        Book saved = new Book();
+        saved.setName("JPA");
+        em.persist(saved);
+        em.flush();
+        em.clear();
+
+        Book book = em.find(Book.class, saved.getId()); // 다른 테스트가 남긴 상품(id 1) 에 기대지 않음
 
         // 변경감지 == dirty checking (commit 할떄 일어남. --> 즉, flush() 시에 일어남)
         book.setName("asdf");
@@ -8,8 +8,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -48,4 +58,43 @@ class MemberServiceTest {
         // fail("예외가 발생해야 한다.");   // 여기오면 테스트 실패
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 각 가입이 자기 트랜잭션에서 커밋되어야 함
+    @DirtiesContext // 커밋된 회원이 다른 테스트에 보이지 않도록 테스트 후 컨텍스트(DB) 를 버림
+    @DisplayName(value = "동시에 같은 이름으로 가입해도 한 명만 성공한다.")
+    public void concurrentDuplicateJoinTest() throws Exception {
+        // given
+        String name = "race-" + UUID.randomUUID();
+        int threads = 4;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                Member member = new Member();
+                member.setName(name);
+                barrier.await();
+                return memberService.join(member);
+            }));
+        }
+        int joined = 0, duplicated = 0;
+        for (Future<Long> future : futures) {
+            try {
+                future.get();
+                joined++;
+            } catch (Exception e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                duplicated++;
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(1, joined);
+        assertEquals(threads - 1, duplicated);
+        assertTrue(memberRepository.existsByName(name));
+    }
+
+}
@@ -0,0 +1,106 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 커밋된 데이터가 다른 테스트에 보이지 않도록 테스트 후 컨텍스트(DB) 를 버림.
+@SpringBootTest @DirtiesContext
+class OptimisticLockRetryTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired OrderService orderService;
+
+    @Test
+    @DisplayName(value = "동시 주문시 재고 갱신이 유실되지 않아야 한다.")
+    public void concurrentOrderNoLostUpdateTest() throws Exception {
+        // given
+        int stockQuantity = 100;
+        int threadCount = 8;
+        Member member = transactionTemplate.execute(status -> createMember("낙관적락회원"));
+        Item item = transactionTemplate.execute(status -> createBook("시골 JPA", 10000, stockQuantity));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger success = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                try {
+                    orderService.order(member.getId(), item.getId(), 1);
+                    success.incrementAndGet();
+                } catch (OptimisticLockingFailureException e) {
+                    // 재시도 횟수 초과
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures)
+            future.get();
+        executorService.shutdown();
+
+        // then
+        Item findItem = transactionTemplate.execute(status -> entityManager.find(Item.class, item.getId()));
+        assertTrue(success.get() > 0);
+        assertEquals(stockQuantity - success.get(), findItem.getStockQuantity(), "성공한 주문 수만큼만 재고가 줄어야 한다.");
+    }
+
+    @Test
+    @DisplayName(value = "이미 취소된 주문은 다시 취소할 수 없다.")
+    public void cancelTwiceTest() throws Exception {
+        // given
+        Member member = transactionTemplate.execute(status -> createMember("취소회원"));
+        Item item = transactionTemplate.execute(status -> createBook("시골 JPA", 10000, 10));
+        Long orderId = orderService.order(member.getId(), item.getId(), 2);
+        orderService.cancelOrder(orderId);
+
+        // when & then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> orderService.cancelOrder(orderId));
+        assertEquals("이미 취소된 주문입니다.", exception.getMessage());
+        Item findItem = transactionTemplate.execute(status -> entityManager.find(Item.class, item.getId()));
+        assertEquals(10, findItem.getStockQuantity());
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        entityManager.persist(member);
+        return member;
+    }
+
+    private Book createBook(String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        entityManager.persist(book);
+        return book;
+    }
+
+}
@@ -0,0 +1,102 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.OrderSearch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest @Transactional
+class OrderExportServiceTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired OrderService orderService;
+    @Autowired OrderExportService orderExportService;
+
+    @Test
+    @DisplayName(value = "CSV 내보내기는 상태로 필터링된다.")
+    public void exportCsvTest() throws Exception {
+        // given
+        Member member = createMember("회원, 1");
+        Book book = createBook("시골 JPA", 10000, 10);
+        orderService.order(member.getId(), book.getId(), 2);
+        Long canceledId = orderService.order(member.getId(), book.getId(), 1);
+        orderService.cancelOrder(canceledId);
+        entityManager.flush();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setOrderStatus(OrderStatus.ORDER);
+        StringWriter writer = new StringWriter();
+
+        // when
+        orderExportService.export(orderSearch, OrderExportFormat.CSV, writer);
+
+        // then
+        String[] lines = writer.toString().split("\n");
+        assertEquals(2, lines.length, "헤더 + 주문 1건");
+        assertEquals("orderId,memberName,status,orderDate,totalPrice", lines[0]);
+        assertTrue(lines[1].contains(",\"회원, 1\",ORDER,"), "쉼표가 있는 값은 따옴표로 감싼다.");
+        assertTrue(lines[1].endsWith(",20000"));
+    }
+
+    @Test
+    @DisplayName(value = "JSON 내보내기는 주문일 범위로 필터링된다.")
+    public void exportJsonTest() throws Exception {
+        // given
+        Member member = createMember("회원1");
+        Book book = createBook("시골 JPA", 10000, 10);
+        orderService.order(member.getId(), book.getId(), 1);
+        orderService.order(member.getId(), book.getId(), 3);
+        entityManager.flush();
+
+        OrderSearch today = new OrderSearch();
+        today.setFromDate(LocalDate.now());
+        today.setToDate(LocalDate.now());
+        OrderSearch tomorrow = new OrderSearch();
+        tomorrow.setFromDate(LocalDate.now().plusDays(1));
+
+        // when
+        StringWriter todayWriter = new StringWriter();
+        orderExportService.export(today, OrderExportFormat.JSON, todayWriter);
+        StringWriter tomorrowWriter = new StringWriter();
+        orderExportService.export(tomorrow, OrderExportFormat.JSON, tomorrowWriter);
+
+        // then
+        JsonNode rows = new ObjectMapper().readTree(todayWriter.toString());
+        assertEquals(2, rows.size());
+        assertEquals(30000, rows.get(1).get("totalPrice").asLong());
+        assertEquals("[]", tomorrowWriter.toString());
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        entityManager.persist(member);
+        return member;
+    }
+
+    private Book createBook(String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        entityManager.persist(book);
+        return book;
+    }
+
+}
@@ -6,6 +6,7 @@ import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.exception.NotEnoughStockException;
@@ -16,6 +17,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,6 +78,66 @@ class OrderServiceTest {
         Order getOrder = orderRepository.findOne(orderId);
         assertEquals(OrderStatus.CANCEL, getOrder.getStatus(), "주문 취소시 상태는 CANCEL 여야함.");
         assertEquals(10, item.getStockQuantity(), "주문이 취소된 상품은 그만큼 재고가 증가해야함.");
+        assertEquals(OrderStatus.CANCEL, entityManager.find(OrderSummary.class, orderId).getStatus(), "주문 목록 read model 에도 반영되어야 한다.");
+        assertEquals(20000, getOrder.getTotalPrice(), "취소해도 주문금액은 그대로 남는다.");
+    }
+
+    @Test
+    @DisplayName(value = "cartOrderTest")
+    public void cartOrderTest() throws Exception {
+        // given
+        Member member = createMember();
+        Book jpaBook = createBook("시골 JPA", 10000, 10);
+        Book springBook = createBook("시골 SPRING", 20000, 10);
+        List<OrderLine> orderLines = List.of(
+                new OrderLine(springBook.getId(), 1),
+                new OrderLine(jpaBook.getId(), 2),
+                new OrderLine(springBook.getId(), 2));
+
+        //when
+        Long orderId = orderService.order(member.getId(), orderLines);
+
+        //then
+        Order getOrder = orderRepository.findOne(orderId);
+        assertEquals(2, getOrder.getOrderItems().size(), "같은 상품은 한 주문상품으로 합쳐져야 한다.");
+        assertEquals(jpaBook, getOrder.getOrderItems().get(0).getItem(), "주문상품은 상품 id 순이다.");
+        assertEquals(10000 * 2 + 20000 * 3, getOrder.getTotalPrice());
+        assertEquals(2, getOrder.getItemCount());
+        OrderSummary summary = entityManager.find(OrderSummary.class, orderId);
+        assertEquals("시골 JPA", summary.getItemName());
+        assertEquals(10000 * 2 + 20000 * 3, summary.getTotalPrice());
+        assertEquals(8, jpaBook.getStockQuantity());
+        assertEquals(7, springBook.getStockQuantity());
+    }
+
+    @Test
+    @DisplayName(value = "cartOrderStockOverflowTest")
+    public void cartOrderStockOverflowTest() throws Exception {
+        // given
+        Member member = createMember();
+        Book jpaBook = createBook("시골 JPA", 10000, 10);
+        Book springBook = createBook("시골 SPRING", 20000, 1);
+        List<OrderLine> orderLines = List.of(new OrderLine(jpaBook.getId(), 1), new OrderLine(springBook.getId(), 2));
+
+        // when & then
+        NotEnoughStockException exception =
+                assertThrows(NotEnoughStockException.class, () -> orderService.order(member.getId(), orderLines));
+        assertThat(exception.getMessage()).isEqualTo("need more stock");
+    }
+
+    @Test
+    @DisplayName(value = "cartOrderNullItemTest")
+    public void cartOrderNullItemTest() throws Exception {
+        // given
+        Member member = createMember();
+        Book jpaBook = createBook("시골 JPA", 10000, 10);
+        List<OrderLine> orderLines = List.of(new OrderLine(jpaBook.getId(), 1), new OrderLine(null, 1));
+
+        // when & then
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> orderService.order(member.getId(), orderLines));
+        assertThat(exception.getMessage()).isEqualTo("주문할 상품을 선택해야 합니다.");
+        assertEquals(10, jpaBook.getStockQuantity(), "재고는 그대로여야 한다.");
     }
 
     private Member createMember() {
@@ -0,0 +1,156 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.SalesDaily;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.SalesDailyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 커밋된 후에 집계되기 때문에 테스트 트랜잭션 없이 실행 (테스트마다 새 상품)
+// 커밋된 데이터가 다른 테스트에 보이지 않도록 테스트 후 컨텍스트(DB) 를 버림.
+@SpringBootTest @DirtiesContext
+class SalesAnalyticsServiceTest {
+
+    @Autowired SalesAnalyticsService salesAnalyticsService;
+    @Autowired SalesDailyRepository salesDailyRepository;
+    @Autowired OrderService orderService;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName(value = "주문 / 취소가 커밋되면 상품 / 상태 별 집계에 바로 반영된다.")
+    public void incrementalTest() throws Exception {
+        // given
+        Long memberId = createMember();
+        Long itemId = createBook("집계 책", 10000);
+
+        // when
+        orderService.order(memberId, itemId, 2);
+        Long canceledId = orderService.order(memberId, itemId, 3);
+        orderService.cancelOrder(canceledId);
+
+        // then
+        SalesAggregate item = findItem(itemId);
+        assertEquals("집계 책", item.getName());
+        assertEquals(5, item.getQuantity(), "취소된 주문도 취소 상태로 남는다.");
+        assertEquals(50000, item.getRevenue());
+
+        List<SalesAggregate> byStatus = salesAnalyticsService.findSales(SalesGroupBy.STATUS, null, null);
+        assertTrue(byStatus.stream().anyMatch(row -> row.getKey() == OrderStatus.CANCEL && row.getQuantity() >= 3));
+
+        List<SalesAggregate> today = salesAnalyticsService.findSales(SalesGroupBy.DAY, LocalDate.now(), LocalDate.now());
+        assertEquals(1, today.size());
+        assertTrue(salesAnalyticsService.findSales(SalesGroupBy.ITEM, LocalDate.now().plusDays(1), null).stream()
+                .noneMatch(row -> row.getKey().equals(itemId)), "기간 밖의 판매는 제외된다.");
+    }
+
+    @Test
+    @DisplayName(value = "주문 테이블을 다시 집계한 결과는 메모리에 쌓인 집계와 같다.")
+    public void rebuildTest() throws Exception {
+        // given
+        Long memberId = createMember();
+        Long itemId = createBook("재집계 책", 2000);
+        orderService.order(memberId, itemId, 1);
+        orderService.cancelOrder(orderService.order(memberId, itemId, 4));
+        orderService.order(memberId, itemId, 2);
+        List<SalesAggregate> before = salesAnalyticsService.findSales(SalesGroupBy.STATUS, null, null);
+        SalesAggregate itemBefore = findItem(itemId);
+
+        // when
+        int rows = salesAnalyticsService.rebuild();
+
+        // then
+        assertTrue(rows > 0);
+        SalesAggregate itemAfter = findItem(itemId);
+        assertEquals(itemBefore.getQuantity(), itemAfter.getQuantity());
+        assertEquals(itemBefore.getRevenue(), itemAfter.getRevenue());
+        List<SalesAggregate> after = salesAnalyticsService.findSales(SalesGroupBy.STATUS, null, null);
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getKey(), after.get(i).getKey());
+            assertEquals(before.get(i).getQuantity(), after.get(i).getQuantity());
+            assertEquals(before.get(i).getRevenue(), after.get(i).getRevenue());
+        }
+    }
+
+    @Test
+    @DisplayName(value = "바뀐 집계는 flush 할 때 sales_daily 에 저장되고, 다시 바뀌면 같은 행을 갱신한다.")
+    public void flushTest() throws Exception {
+        // given
+        Long memberId = createMember();
+        Long itemId = createBook("저장 책", 1000);
+        orderService.order(memberId, itemId, 1);
+        salesAnalyticsService.flush();
+
+        // when
+        orderService.order(memberId, itemId, 2);
+        int flushed = salesAnalyticsService.flush();
+
+        // then
+        assertTrue(flushed >= 1);
+        assertEquals(0, salesAnalyticsService.flush(), "바뀐 것이 없으면 저장하지 않는다.");
+        List<SalesDaily> saved = transactionTemplate.execute(status -> salesDailyRepository.findBySalesDates(List.of(LocalDate.now())))
+                .stream().filter(salesDaily -> salesDaily.getItemId().equals(itemId)).toList();
+        assertEquals(1, saved.size());
+        assertEquals(OrderStatus.ORDER, saved.get(0).getStatus());
+        assertEquals(3, saved.get(0).getQuantity());
+        assertEquals(3000, saved.get(0).getRevenue());
+    }
+
+    @Test
+    @DisplayName(value = "상품별 집계는 상품 id 숫자 순, 일별 집계는 날짜 순으로 정렬된다.")
+    public void sortByKeyTest() throws Exception {
+        // given
+        Long memberId = createMember();
+        orderService.order(memberId, createBook("정렬 책 1", 1000), 1);
+        orderService.order(memberId, createBook("정렬 책 2", 1000), 1);
+
+        // when
+        List<Long> itemIds = salesAnalyticsService.findSales(SalesGroupBy.ITEM, null, null).stream()
+                .map(row -> (Long) row.getKey())
+                .toList();
+        List<LocalDate> days = salesAnalyticsService.findSales(SalesGroupBy.DAY, null, null).stream()
+                .map(row -> (LocalDate) row.getKey())
+                .toList();
+
+        // then
+        assertEquals(itemIds.stream().sorted().toList(), itemIds, "문자열 순(\"10\" < \"9\")이 아니라 숫자 순이어야 한다.");
+        assertEquals(days.stream().sorted().toList(), days);
+    }
+
+    private SalesAggregate findItem(Long itemId) {
+        return salesAnalyticsService.findSales(SalesGroupBy.ITEM, null, null).stream()
+                .filter(row -> row.getKey().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Long createMember() {
+        Member member = new Member();
+        member.setName("sales-" + UUID.randomUUID());
+        return memberService.join(member);
+    }
+
+    private Long createBook(String name, int price) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(100);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+
+}
@@ -0,0 +1,113 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 커밋이 필요하기 때문에 @Transactional 을 사용하지 않음.
+// 저널 반영은 테스트에서 직접 호출 (주기 실행과 같은 저널 row 를 두고 경합하지 않도록 주기를 길게)
+@SpringBootTest(properties = {"jpashop.stock.reservation.enabled=true", "jpashop.stock.reservation.flush-interval-ms=3600000"})
+class StockReservationTest {
+
+    @PersistenceContext EntityManager entityManager;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired OrderService orderService;
+    @Autowired StockJournalFlusher stockJournalFlusher;
+
+    @Test
+    @DisplayName(value = "동시 주문시 재고 이상으로 팔리지 않아야 한다.")
+    public void concurrentOrderNoOversellTest() throws Exception {
+        // given
+        int stockQuantity = 20;
+        int threadCount = 50;
+        Member member = transactionTemplate.execute(status -> createMember("예약회원"));
+        Item item = transactionTemplate.execute(status -> createBook("시골 JPA", 10000, stockQuantity));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                try {
+                    orderService.order(member.getId(), item.getId(), 1);
+                    success.incrementAndGet();
+                } catch (NotEnoughStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures)
+            future.get();
+        executorService.shutdown();
+        while (stockJournalFlusher.flush() > 0) {
+        }
+
+        // then
+        assertEquals(stockQuantity, success.get(), "재고 수량만큼만 주문이 성공해야 한다.");
+        assertEquals(threadCount - stockQuantity, rejected.get());
+        Item findItem = transactionTemplate.execute(status -> entityManager.find(Item.class, item.getId()));
+        assertEquals(0, findItem.getStockQuantity(), "저널 반영 후 DB 재고는 0 이어야 한다.");
+    }
+
+    @Test
+    @DisplayName(value = "예약 주문 취소시 저널 반영 후 재고가 복원되어야 한다.")
+    public void cancelRestockTest() throws Exception {
+        // given
+        Member member = transactionTemplate.execute(status -> createMember("취소회원"));
+        Item item = transactionTemplate.execute(status -> createBook("시골 JPA", 10000, 10));
+        Long orderId = orderService.order(member.getId(), item.getId(), 3);
+
+        // when
+        orderService.cancelOrder(orderId);
+        while (stockJournalFlusher.flush() > 0) {
+        }
+
+        // then
+        Item findItem = transactionTemplate.execute(status -> entityManager.find(Item.class, item.getId()));
+        assertEquals(10, findItem.getStockQuantity());
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        entityManager.persist(member);
+        return member;
+    }
+
+    private Book createBook(String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        entityManager.persist(book);
+        return book;
+    }
+
+}